@@ -0,0 +1,77 @@
+package com.hubspot.seatsolver.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.hubspot.seatsolver.genetic.alter.EmptySeatSwapMutator;
+import com.hubspot.seatsolver.genetic.alter.MultiTeamSwapMutator;
+import com.hubspot.seatsolver.genetic.alter.NearSeatMutator;
+import com.hubspot.seatsolver.genetic.alter.TeamSwapMutator;
+import com.hubspot.seatsolver.model.SeatCore;
+
+import io.jenetics.Alterer;
+import io.jenetics.AltererResult;
+import io.jenetics.EnumGene;
+import io.jenetics.Phenotype;
+import io.jenetics.util.ISeq;
+
+/**
+ * Each alterer applied with probability 1 to the whole benchmark population, reported per phenotype
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class AltererBenchmark {
+  private static final int MAX_SIZE_RETRIES = 10;
+
+  @Param({"TeamSwap", "MultiTeamSwap", "NearSeat", "EmptySeatSwap"})
+  public String alterer;
+
+  private Alterer<EnumGene<SeatCore>, Double> instance;
+  private ISeq<Phenotype<EnumGene<SeatCore>, Double>> population;
+  private long generation;
+
+  @Setup
+  public void setUp(BenchmarkFloor floor) {
+    instance = newAlterer(alterer);
+    population = floor.population.stream()
+        .map(genotype -> Phenotype.of(genotype, 1, floor.fitnessFunction::fitness))
+        .collect(ISeq.toISeq());
+  }
+
+  @Benchmark
+  @OperationsPerInvocation(BenchmarkFloor.POPULATION)
+  public AltererResult<EnumGene<SeatCore>, Double> alter() {
+    return instance.alter(population, ++generation);
+  }
+
+  private static Alterer<EnumGene<SeatCore>, Double> newAlterer(String name) {
+    switch (name) {
+      case "TeamSwap":
+        return new TeamSwapMutator(1);
+      case "MultiTeamSwap":
+        return new MultiTeamSwapMutator(1);
+      case "NearSeat":
+        return new NearSeatMutator(1, MAX_SIZE_RETRIES);
+      case "EmptySeatSwap":
+        return new EmptySeatSwapMutator(1);
+      default:
+        throw new IllegalArgumentException("Unknown alterer " + name);
+    }
+  }
+}
@@ -0,0 +1,90 @@
+package com.hubspot.seatsolver.benchmarks;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import com.google.common.util.concurrent.MoreExecutors;
+import com.google.inject.Guice;
+import com.google.inject.Injector;
+import com.google.inject.Key;
+import com.google.inject.TypeLiteral;
+import com.hubspot.seatsolver.SeatSolverModule;
+import com.hubspot.seatsolver.config.SeatSolverConfig;
+import com.hubspot.seatsolver.fitness.SeatFitnessFunction;
+import com.hubspot.seatsolver.genetic.GreedySeatGenotypeFactory;
+import com.hubspot.seatsolver.genetic.SeatGenotypeValidator;
+import com.hubspot.seatsolver.model.SeatCore;
+import com.hubspot.seatsolver.synthetic.SyntheticDataLoader;
+import com.hubspot.seatsolver.synthetic.SyntheticFloorParams;
+
+import io.jenetics.EnumGene;
+import io.jenetics.Genotype;
+
+/**
+ * A wired solver for one floor size, plus a pool of valid scored genotypes to benchmark against
+ */
+@State(Scope.Benchmark)
+public class BenchmarkFloor {
+  static final int POPULATION = 32;
+  private static final int MAX_GENOTYPE_TRIES = 1000;
+  private static final long SEED = 42;
+
+  @Param({"500", "2000"})
+  public int seats;
+
+  @Param({"50", "200"})
+  public int teams;
+
+  SeatSolverConfig config;
+  Injector injector;
+  List<SeatCore> seatList;
+  SeatFitnessFunction fitnessFunction;
+  SeatGenotypeValidator validator;
+  List<Genotype<EnumGene<SeatCore>>> population;
+
+  @Setup
+  public void setUp() {
+    config = SeatSolverConfig.builder()
+        .dataLoader(
+            new SyntheticDataLoader(
+                SyntheticFloorParams.builder()
+                    .seatCount(seats)
+                    .teamCount(teams)
+                    .seed(SEED)
+                    .pinnedTeamFraction(0.1)
+                    .build()
+            )
+        )
+        .executor(MoreExecutors.directExecutor())
+        .build();
+    injector = Guice.createInjector(new SeatSolverModule(config));
+    seatList = injector.getInstance(Key.get(new TypeLiteral<List<SeatCore>>() {}));
+    fitnessFunction = injector.getInstance(SeatFitnessFunction.class);
+    validator = injector.getInstance(SeatGenotypeValidator.class);
+
+    GreedySeatGenotypeFactory factory = injector.getInstance(GreedySeatGenotypeFactory.class);
+    population = new ArrayList<>(POPULATION);
+    for (int i = 0; i < MAX_GENOTYPE_TRIES && population.size() < POPULATION; i++) {
+      Genotype<EnumGene<SeatCore>> genotype = factory.newInstance();
+      if (validator.validateGenotype(genotype)) {
+        fitnessFunction.fitness(genotype);
+        population.add(genotype);
+      }
+    }
+
+    if (population.isEmpty()) {
+      throw new IllegalStateException(
+          String.format("Could not build a valid genotype for %d seats and %d teams", seats, teams)
+      );
+    }
+  }
+
+  Genotype<EnumGene<SeatCore>> genotype(int i) {
+    return population.get(i % population.size());
+  }
+}
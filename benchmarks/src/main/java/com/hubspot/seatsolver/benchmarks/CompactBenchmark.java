@@ -0,0 +1,69 @@
+package com.hubspot.seatsolver.benchmarks;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.hubspot.seatsolver.fitness.CompactFitnessFunction;
+import com.hubspot.seatsolver.genetic.compact.CompactAssignment;
+import com.hubspot.seatsolver.genetic.compact.CompactGenotypes;
+import com.hubspot.seatsolver.genetic.compact.CompactMutations;
+import com.hubspot.seatsolver.grid.SeatGrid;
+
+/**
+ * The compact encoding's counterparts of the fitness and team swap benchmarks
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class CompactBenchmark {
+  private final List<CompactAssignment> population = new ArrayList<>();
+  private final Random random = new Random(42);
+  private CompactFitnessFunction fitnessFunction;
+  private CompactGenotypes genotypes;
+  private SeatGrid grid;
+  private int next;
+
+  @Setup
+  public void setUp(BenchmarkFloor floor) {
+    fitnessFunction = floor.injector.getInstance(CompactFitnessFunction.class);
+    genotypes = floor.injector.getInstance(CompactGenotypes.class);
+    grid = floor.injector.getInstance(SeatGrid.class);
+    floor.population.forEach(genotype -> population.add(genotypes.encode(genotype)));
+  }
+
+  @Benchmark
+  public double fitness() {
+    return fitnessFunction.fitness(population.get(next++ % population.size()));
+  }
+
+  @Benchmark
+  public CompactAssignment swapTeams() {
+    return CompactMutations.swapTeams(population.get(next++ % population.size()), genotypes.getTeamSizeBuckets(), random);
+  }
+
+  @Benchmark
+  public CompactAssignment moveToAdjacentEmptySeat() {
+    return CompactMutations.moveToAdjacentEmptySeat(population.get(next++ % population.size()), grid, random);
+  }
+
+  @Benchmark
+  public boolean isValid() {
+    return genotypes.isValid(population.get(next++ % population.size()));
+  }
+}
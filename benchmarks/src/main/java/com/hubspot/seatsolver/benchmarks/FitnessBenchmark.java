@@ -0,0 +1,69 @@
+package com.hubspot.seatsolver.benchmarks;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.hubspot.seatsolver.genetic.GenotypeLineage;
+import com.hubspot.seatsolver.genetic.alter.TeamSwapMutator;
+import com.hubspot.seatsolver.model.SeatCore;
+
+import io.jenetics.EnumGene;
+import io.jenetics.Genotype;
+import io.jenetics.Phenotype;
+import io.jenetics.util.ISeq;
+
+/**
+ * Fitness of a genotype scored from scratch and of a mutated child scored against its parent
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class FitnessBenchmark {
+  private final List<Genotype<EnumGene<SeatCore>>> parents = new ArrayList<>();
+  private final List<Genotype<EnumGene<SeatCore>>> children = new ArrayList<>();
+  private int next;
+
+  @Setup
+  public void setUp(BenchmarkFloor floor) {
+    TeamSwapMutator mutator = new TeamSwapMutator(1);
+    ISeq<Phenotype<EnumGene<SeatCore>, Double>> population = floor.population.stream()
+        .map(genotype -> Phenotype.of(genotype, 1, floor.fitnessFunction::fitness))
+        .collect(ISeq.toISeq());
+
+    mutator.alter(population, 1).getPopulation().forEach(child -> {
+      Genotype<EnumGene<SeatCore>> genotype = child.getGenotype();
+      Genotype<EnumGene<SeatCore>> parent = GenotypeLineage.getParent(genotype);
+      if (parent != null) {
+        parents.add(parent);
+        children.add(genotype);
+      }
+    });
+  }
+
+  @Benchmark
+  public double fullFitness(BenchmarkFloor floor) {
+    // A fresh genotype of the same chromosomes has no cached costs and no parent
+    return floor.fitnessFunction.fitness(Genotype.of(floor.genotype(next++).toSeq()));
+  }
+
+  @Benchmark
+  public double childFitness(BenchmarkFloor floor) {
+    int i = next++ % children.size();
+    return floor.fitnessFunction.fitness(GenotypeLineage.derive(parents.get(i), children.get(i).toSeq()));
+  }
+}
@@ -0,0 +1,48 @@
+package com.hubspot.seatsolver.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.hubspot.seatsolver.genetic.GreedySeatGenotypeFactory;
+import com.hubspot.seatsolver.genetic.SeatGenotypeFactory;
+import com.hubspot.seatsolver.model.SeatCore;
+
+import io.jenetics.EnumGene;
+import io.jenetics.Genotype;
+
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class GenotypeFactoryBenchmark {
+  private GreedySeatGenotypeFactory greedyFactory;
+  private SeatGenotypeFactory randomFactory;
+
+  @Setup
+  public void setUp(BenchmarkFloor floor) {
+    greedyFactory = floor.injector.getInstance(GreedySeatGenotypeFactory.class);
+    randomFactory = floor.injector.getInstance(SeatGenotypeFactory.class);
+  }
+
+  @Benchmark
+  public Genotype<EnumGene<SeatCore>> greedyNewInstance() {
+    return greedyFactory.newInstance();
+  }
+
+  @Benchmark
+  public Genotype<EnumGene<SeatCore>> newInstance() {
+    return randomFactory.newInstance();
+  }
+}
@@ -0,0 +1,62 @@
+package com.hubspot.seatsolver.benchmarks;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.hubspot.seatsolver.model.SeatCore;
+
+import io.jenetics.Chromosome;
+import io.jenetics.EnumGene;
+import io.jenetics.Genotype;
+
+/**
+ * Validation of the pool's genotypes, whose chromosomes have their size and connectivity cached after
+ * the first pass, and of fresh copies of them that have nothing cached yet
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ValidatorBenchmark {
+  private int next;
+
+  @State(Scope.Thread)
+  public static class FreshGenotype {
+    Genotype<EnumGene<SeatCore>> genotype;
+    private int next;
+
+    @Setup(Level.Invocation)
+    public void setUp(BenchmarkFloor floor) {
+      // rebuilt chromosomes start without cached validity, like the ones mutations create
+      List<Chromosome<EnumGene<SeatCore>>> chromosomes = floor.genotype(next++).toSeq().stream()
+          .map(chromosome -> chromosome.newInstance(chromosome.toSeq()))
+          .collect(Collectors.toList());
+      genotype = Genotype.of(chromosomes);
+    }
+  }
+
+  @Benchmark
+  public boolean validateGenotype(BenchmarkFloor floor) {
+    return floor.validator.validateGenotype(floor.genotype(next++));
+  }
+
+  @Benchmark
+  public boolean validateFreshGenotype(BenchmarkFloor floor, FreshGenotype fresh) {
+    return floor.validator.validateGenotype(fresh.genotype);
+  }
+}
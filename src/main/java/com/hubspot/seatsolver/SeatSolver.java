@@ -2,34 +2,60 @@ package com.hubspot.seatsolver;
 
 import java.io.File;
 import java.io.IOException;
-import java.time.Duration;
-import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.Comparator;
 import java.util.List;
-import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 import java.util.concurrent.ForkJoinPool;
 import java.util.concurrent.TimeUnit;
-import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.Predicate;
 import java.util.stream.Collectors;
-import java.util.stream.DoubleStream;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import com.google.common.base.Stopwatch;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
 import com.google.inject.Inject;
+import com.hubspot.seatsolver.adaptive.AdaptiveController;
+import com.hubspot.seatsolver.adaptive.AdaptiveEvolution;
+import com.hubspot.seatsolver.config.AdaptiveEngineConfig;
+import com.hubspot.seatsolver.config.DistributedConfig;
+import com.hubspot.seatsolver.config.DistributedMode;
+import com.hubspot.seatsolver.config.DistributedRole;
+import com.hubspot.seatsolver.config.EngineParameters;
+import com.hubspot.seatsolver.config.IslandConfig;
 import com.hubspot.seatsolver.config.SeatSolverConfig;
-import com.hubspot.seatsolver.genetic.EmptySeatChromosome;
+import com.hubspot.seatsolver.distributed.AssignmentCodec;
+import com.hubspot.seatsolver.distributed.Frame;
+import com.hubspot.seatsolver.distributed.Handshake;
+import com.hubspot.seatsolver.distributed.RemoteFitnessFunction;
+import com.hubspot.seatsolver.distributed.RemoteIslandLink;
+import com.hubspot.seatsolver.distributed.Transport;
+import com.hubspot.seatsolver.fitness.CompactFitnessFunction;
+import com.hubspot.seatsolver.fitness.SeatFitnessFunction;
 import com.hubspot.seatsolver.genetic.GreedySeatGenotypeFactory;
 import com.hubspot.seatsolver.genetic.SeatGenotypeValidator;
-import com.hubspot.seatsolver.genetic.TeamChromosome;
+import com.hubspot.seatsolver.genetic.TeamCostCache;
+import com.hubspot.seatsolver.genetic.alter.RescalableAlterer;
+import com.hubspot.seatsolver.genetic.compact.CompactGenotypeFactory;
+import com.hubspot.seatsolver.genetic.compact.CompactGenotypes;
+import com.hubspot.seatsolver.genetic.compact.CompactMutator;
+import com.hubspot.seatsolver.island.Island;
+import com.hubspot.seatsolver.island.IslandEvolution;
 import com.hubspot.seatsolver.model.AssignmentResult;
 import com.hubspot.seatsolver.model.PopulationResult;
 import com.hubspot.seatsolver.model.SeatCore;
-import com.hubspot.seatsolver.utils.DoubleStatistics;
+import com.hubspot.seatsolver.stopping.StoppingPolicy;
+import com.hubspot.seatsolver.utils.CheckpointWriter;
 import com.hubspot.seatsolver.utils.GenotypeVisualizer;
 import com.hubspot.seatsolver.utils.GenotypeWriter;
-import com.hubspot.seatsolver.utils.PointUtils;
 
 import io.jenetics.Alterer;
 import io.jenetics.EnumGene;
@@ -38,29 +64,50 @@ import io.jenetics.Phenotype;
 import io.jenetics.engine.Engine;
 import io.jenetics.engine.EvolutionResult;
 import io.jenetics.engine.EvolutionStatistics;
+import io.jenetics.engine.EvolutionStream;
 import io.jenetics.engine.ForkJoinPopulationFilter;
-import io.jenetics.engine.Limits;
+import io.jenetics.util.Factory;
 
 public class SeatSolver {
   private static final Logger LOG = LoggerFactory.getLogger(SeatSolver.class);
 
   private final SeatSolverConfig config;
   private final GreedySeatGenotypeFactory genotypeFactory;
+  private final CompactGenotypeFactory compactGenotypeFactory;
   private final SeatGenotypeValidator genotypeValidator;
   private final GenotypeWriter genotypeWriter;
+  private final SeatFitnessFunction fitnessFunction;
+  private final CompactFitnessFunction compactFitnessFunction;
+  private final TeamCostCache teamCostCache;
+  private final CompactGenotypes compactGenotypes;
+  private final AssignmentCodec assignmentCodec;
+  private final Handshake handshake;
 
   @Inject
   public SeatSolver(SeatSolverConfig config,
                     GreedySeatGenotypeFactory genotypeFactory,
+                    CompactGenotypeFactory compactGenotypeFactory,
                     SeatGenotypeValidator genotypeValidator,
-                    GenotypeWriter genotypeWriter) {
+                    GenotypeWriter genotypeWriter,
+                    SeatFitnessFunction fitnessFunction,
+                    CompactFitnessFunction compactFitnessFunction,
+                    TeamCostCache teamCostCache,
+                    CompactGenotypes compactGenotypes,
+                    AssignmentCodec assignmentCodec,
+                    Handshake handshake) {
     this.config = config;
     this.genotypeFactory = genotypeFactory;
+    this.compactGenotypeFactory = compactGenotypeFactory;
     this.genotypeValidator = genotypeValidator;
     this.genotypeWriter = genotypeWriter;
+    this.fitnessFunction = fitnessFunction;
+    this.compactFitnessFunction = compactFitnessFunction;
+    this.teamCostCache = teamCostCache;
+    this.compactGenotypes = compactGenotypes;
+    this.assignmentCodec = assignmentCodec;
+    this.handshake = handshake;
   }
 
-  @SuppressWarnings("unchecked")
   public Phenotype<EnumGene<SeatCore>, Double> run() throws Exception {
 
     try {
@@ -71,115 +118,304 @@ public class SeatSolver {
     long run =  System.currentTimeMillis();
     LOG.info("Building engine - Run {}", run);
 
-    ForkJoinPool forkJoinPool = ForkJoinPool.commonPool();
-    if (config.populationFilterParallelism().isPresent()) {
-      forkJoinPool = new ForkJoinPool(config.populationFilterParallelism().get());
-    }
+    ForkJoinPool forkJoinPool = config.populationFilterParallelism()
+        .map(ForkJoinPool::new)
+        .orElse(ForkJoinPool.commonPool());
 
     if (config.alterers().isEmpty()) {
       throw new IllegalArgumentException("Must specify at least one alterer!");
     }
+    checkEncoding(config.alterers());
+    config.islandConfig().ifPresent(islands -> islands.islandAlterers().forEach(this::checkEncoding));
 
-    Alterer<EnumGene<SeatCore>, Double> first = config.alterers().get(0);
-    Alterer<EnumGene<SeatCore>, Double>[] alterers = config.alterers().size() > 1 ?
-        config.alterers().subList(1, config.alterers().size()).toArray(new Alterer[]{}) :
-        new Alterer[]{};
+    Optional<DistributedConfig> distributedConfig = config.distributedConfig();
+    List<Transport> transports = distributedConfig.isPresent() ?
+        connect(distributedConfig.get()) :
+        Collections.emptyList();
+    boolean remoteFitness = distributedConfig.isPresent() && distributedConfig.get().mode() == DistributedMode.FITNESS;
+    boolean remoteIslands = distributedConfig.isPresent() && distributedConfig.get().mode() == DistributedMode.ISLANDS;
 
-    Engine<EnumGene<SeatCore>, Double> engine = Engine.builder(this::timedFitness, this.genotypeFactory)
-        .individualCreationRetries(100000)
-        .minimizing()
-        .genotypeValidator(this.genotypeValidator::validateGenotype)
-        .populationSize(1000)
-        .survivorsSize(66)
-        .populationFilter(new ForkJoinPopulationFilter<>(forkJoinPool, 42))
-        .executor(config.executor())
-        .maximalPhenotypeAge(100)
-        .alterers(first, alterers)
-        .parallelPhenotypeGeneration(config.parallelPhenotypeGeneration())
-        .build();
+    Optional<RemoteFitnessFunction> remoteFitnessFunction = remoteFitness ?
+        Optional.of(new RemoteFitnessFunction(compactGenotypes, assignmentCodec, transports, distributedConfig.get().fitnessBatchSize())) :
+        Optional.empty();
+    Function<Genotype<EnumGene<SeatCore>>, Double> fitness = remoteFitnessFunction.isPresent() ?
+        remoteFitnessFunction.get() :
+        this::timedFitness;
+
+    // processes exchanging migrants run at least one island each
+    Optional<IslandConfig> islandConfig = remoteIslands && !config.islandConfig().isPresent() ?
+        Optional.of(IslandConfig.builder().islandCount(1).build()) :
+        config.islandConfig();
+    Optional<IslandEvolution> islandEvolution = islandConfig
+        .map(islands -> buildIslandEvolution(islands, fitness));
+    EvolutionStream<EnumGene<SeatCore>, Double> evolution;
+    if (islandEvolution.isPresent()) {
+      evolution = islandEvolution.get().stream();
+    } else if (config.adaptiveEngineConfig().isPresent()) {
+      AdaptiveEngineConfig adaptiveConfig = config.adaptiveEngineConfig().get();
+      config.alterers().stream()
+          .filter(alterer -> !(alterer instanceof RescalableAlterer))
+          .forEach(alterer -> LOG.warn("Alterer {} can't be rescaled, the adaptive engine uses it as configured", alterer));
+      evolution = new AdaptiveEvolution(
+          (populationSize, altererScale) -> buildEngine(
+              scaled(config.alterers(), altererScale),
+              populationSize,
+              fitness,
+              config.executor(),
+              forkJoinPool
+          ),
+          new AdaptiveController(adaptiveConfig, config.engineParameters().populationSize()),
+          adaptiveConfig.epochGenerations()
+      ).stream();
+    } else {
+      evolution = buildEngine(
+          config.alterers(),
+          config.engineParameters().populationSize(),
+          fitness,
+          config.executor(),
+          forkJoinPool
+      ).stream();
+    }
 
     Stopwatch stopwatch = Stopwatch.createStarted();
     LOG.info("Starting evolution");
     EvolutionStatistics statistics = EvolutionStatistics.ofNumber();
+    StoppingPolicy stoppingPolicy = StoppingPolicy.of(config.stoppingConfig());
 
-    AtomicReference<EvolutionResult<EnumGene<SeatCore>, Double>> currentResult = new AtomicReference<>(null);
-    Runtime.getRuntime().addShutdownHook(
-        new Thread(() -> {
-          EvolutionResult<EnumGene<SeatCore>, Double> result = currentResult.get();
-          if (result != null) {
-            writeGenotype(result, run);
-          }
-        })
-    );
+    CheckpointWriter checkpointWriter = new CheckpointWriter(r -> {
+      writeGenotype(r, run);
+      config.solutionListener().ifPresent(
+          listener -> listener.checkpointSolution(buildPopulationResult(r, Optional.empty()), r.getTotalGenerations())
+      );
+    });
+    Thread checkpointFlush = new Thread(checkpointWriter::close, "checkpoint-flush");
+    Runtime.getRuntime().addShutdownHook(checkpointFlush);
+
+    Consumer<EvolutionResult<EnumGene<SeatCore>, Double>> observer = r -> {
+      statistics.accept(r);
+
+      if (r.getTotalGenerations() % config.getGenerationWriteFrequency() == 0 || r.getTotalGenerations() == 1) {
+        checkpointWriter.checkpoint(r);
+        LOG.info(
+            "Generation {} ({} ms/gen):\n  Invalid: {}\n  Killed: {}\n  Worst: {}\n  Best: {}",
+            r.getGeneration(),
+            stopwatch.elapsed(TimeUnit.MILLISECONDS) / r.getTotalGenerations(),
+            r.getInvalidCount(),
+            r.getKillCount(),
+            r.getWorstFitness(),
+            r.getBestFitness()
+        );
+        LOG.info("Team cost cache ({} entries): {}", teamCostCache.size(), teamCostCache.stats());
+      } else {
+        LOG.debug(
+            "Generation {} ({} ms/gen):\n  Invalid: {}\n  Killed: {}\n  Worst: {}\n  Best: {}",
+            r.getGeneration(),
+            stopwatch.elapsed(TimeUnit.MILLISECONDS) / r.getTotalGenerations(),
+            r.getInvalidCount(),
+            r.getKillCount(),
+            r.getWorstFitness(),
+            r.getBestFitness()
+        );
+      }
+      LOG.debug("Got intermediate result genotype: {}",
+          r.getBestPhenotype());
+      checkpointWriter.update(r);
+    };
+
+    List<RemoteIslandLink> links = new ArrayList<>();
+    EvolutionResult<EnumGene<SeatCore>, Double> result;
+    try {
+      if (remoteIslands) {
+        for (Transport transport : transports) {
+          RemoteIslandLink link = new RemoteIslandLink(transport, assignmentCodec, islandEvolution.get());
+          link.start();
+          links.add(link);
+        }
+      }
+
+      EvolutionResult<EnumGene<SeatCore>, Double> lastResult = evolution
+          .limit(stoppingPolicy)
+          .peek(observer)
+          .reduce((a, b) -> b)
+          .orElse(null);
+
+      // the limit leaves out the result a rule stopped at, it is the run's last generation all the same
+      Optional<EvolutionResult<EnumGene<SeatCore>, Double>> stoppedAt = stoppingPolicy.getStoppedAt();
+      stoppedAt.ifPresent(observer);
+      result = stoppedAt.orElse(lastResult);
+    } finally {
+      // write the final checkpoint now rather than at JVM exit, also when evolution failed
+      checkpointWriter.close();
+      Runtime.getRuntime().removeShutdownHook(checkpointFlush);
+      islandEvolution.ifPresent(IslandEvolution::close);
+      links.forEach(RemoteIslandLink::close);
+      if (remoteFitnessFunction.isPresent()) {
+        remoteFitnessFunction.get().close();
+        shutdown(transports);
+      }
+    }
+    Optional<String> stopReason = stoppingPolicy.getStopReason();
 
-    EvolutionResult<EnumGene<SeatCore>, Double> result = engine.stream()
-        //.limit(Limits.byFitnessConvergence(20, 200, .000000000001))
-        .limit(Limits.byExecutionTime(Duration.of(12, ChronoUnit.HOURS)))
-        .limit(100000)
-        .peek(r -> {
-          statistics.accept(r);
-
-          if (r.getTotalGenerations() % config.getGenerationWriteFrequency() == 0 || r.getTotalGenerations() == 1) {
-            writeGenotype(r, run);
-            config.solutionListener().ifPresent(
-                listener -> listener.checkpointSolution(buildPopulationResult(r), r.getTotalGenerations())
-            );
-            LOG.info(
-                "Generation {} ({} ms/gen):\n  Invalid: {}\n  Killed: {}\n  Worst: {}\n  Best: {}",
-                r.getGeneration(),
-                stopwatch.elapsed(TimeUnit.MILLISECONDS) / r.getTotalGenerations(),
-                r.getInvalidCount(),
-                r.getKillCount(),
-                r.getWorstFitness(),
-                r.getBestFitness()
-            );
-          } else {
-            LOG.debug(
-                "Generation {} ({} ms/gen):\n  Invalid: {}\n  Killed: {}\n  Worst: {}\n  Best: {}",
-                r.getGeneration(),
-                stopwatch.elapsed(TimeUnit.MILLISECONDS) / r.getTotalGenerations(),
-                r.getInvalidCount(),
-                r.getKillCount(),
-                r.getWorstFitness(),
-                r.getBestFitness()
-            );
-          }
-          LOG.debug("Got intermediate result genotype: {}",
-              r.getBestPhenotype());
-        })
-        .reduce((a, b) -> b)
-        .orElse(null);
-
-    LOG.info("Finished evolving in {} ms", stopwatch.elapsed(TimeUnit.MILLISECONDS));
+    LOG.info("Finished evolving in {} ms: {}", stopwatch.elapsed(TimeUnit.MILLISECONDS), stopReason.orElse("evolution ended"));
     System.out.println(statistics);
 
     Phenotype<EnumGene<SeatCore>, Double> best = result.getBestPhenotype();
 
-    boolean isValidSolution = this.genotypeValidator.validateGenotype(best.getGenotype());
-    LOG.info("\n\n************\nValid? {}\nFitness: {}\nGenotype:\n{}\n************\n", isValidSolution, best.getRawFitness(), best.getGenotype());
+    Genotype<EnumGene<SeatCore>> bestGenotype = compactGenotypes.expand(best.getGenotype());
+    boolean isValidSolution = this.genotypeValidator.validateGenotype(bestGenotype);
+    LOG.info("\n\n************\nValid? {}\nFitness: {}\nGenotype:\n{}\n************\n", isValidSolution, best.getRawFitness(), bestGenotype);
     if (isValidSolution) {
       config.solutionListener().ifPresent(
-          listener -> listener.completeSolution(buildPopulationResult(result))
+          listener -> listener.completeSolution(buildPopulationResult(result, stopReason))
       );
     }
-    genotypeWriter.write(best.getGenotype(), getPath("solution-" + run + ".json"));
-    GenotypeVisualizer.outputGraphViz(best.getGenotype(), getPath("out-" + run + ".dot"));
+    genotypeWriter.write(bestGenotype, getPath("solution-" + run + ".json"));
+    GenotypeVisualizer.outputGraphViz(bestGenotype, getPath("out-" + run + ".dot"));
 
     return best;
   }
 
+  private List<Transport> connect(DistributedConfig distributedConfig) throws IOException {
+    List<Transport> transports;
+    if (distributedConfig.role() == DistributedRole.COORDINATOR) {
+      transports = distributedConfig.transportProvider().accept(distributedConfig);
+    } else if (distributedConfig.mode() == DistributedMode.ISLANDS) {
+      transports = Collections.singletonList(distributedConfig.transportProvider().connect(distributedConfig));
+    } else {
+      throw new IllegalStateException("Fitness workers don't evolve, run them with SeatSolverFactory.createFitnessWorker");
+    }
+
+    for (Transport transport : transports) {
+      handshake.perform(transport);
+    }
+    return transports;
+  }
+
+  private void shutdown(List<Transport> transports) {
+    for (Transport transport : transports) {
+      try {
+        transport.send(Frame.of(Frame.Type.SHUTDOWN));
+        transport.close();
+      } catch (IOException e) {
+        LOG.warn("Could not shut down worker {}", transport, e);
+      }
+    }
+  }
+
+  private IslandEvolution buildIslandEvolution(IslandConfig islandConfig,
+                                               Function<Genotype<EnumGene<SeatCore>>, Double> fitness) {
+    int populationSize = islandConfig.islandPopulationSize()
+        .orElse(Math.max(config.engineParameters().populationSize() / islandConfig.islandCount(), islandConfig.migrantCount() + 1));
+    int threads = islandConfig.threadsPerIsland()
+        .orElse(Math.max(1, Runtime.getRuntime().availableProcessors() / islandConfig.islandCount()));
+    LOG.info("Evolving {} islands of {} individuals on {} threads each", islandConfig.islandCount(), populationSize, threads);
+
+    // every island gets its own slice of threads, so they don't queue behind each other in shared pools
+    List<Island> islands = new ArrayList<>(islandConfig.islandCount());
+    List<ExecutorService> executors = new ArrayList<>(2 * islandConfig.islandCount());
+    for (int i = 0; i < islandConfig.islandCount(); i++) {
+      List<Alterer<EnumGene<SeatCore>, Double>> alterers = islandConfig.islandAlterers().isEmpty() ?
+          config.alterers() :
+          islandConfig.islandAlterers().get(i % islandConfig.islandAlterers().size());
+      ExecutorService executor = Executors.newFixedThreadPool(
+          threads,
+          new ThreadFactoryBuilder().setNameFormat("island-" + i + "-fitness-%d").setDaemon(true).build()
+      );
+      ForkJoinPool forkJoinPool = new ForkJoinPool(threads);
+      executors.add(executor);
+      executors.add(forkJoinPool);
+      islands.add(new Island(i, buildEngine(alterers, populationSize, fitness, executor, forkJoinPool)));
+    }
+
+    return new IslandEvolution(
+        islands,
+        islandConfig.migrationTopology(),
+        islandConfig.migrationInterval(),
+        islandConfig.migrantCount(),
+        executors
+    );
+  }
+
+  @SuppressWarnings("unchecked")
+  private Engine<EnumGene<SeatCore>, Double> buildEngine(List<Alterer<EnumGene<SeatCore>, Double>> alterers,
+                                                         int populationSize,
+                                                         Function<Genotype<EnumGene<SeatCore>>, Double> fitness,
+                                                         Executor executor,
+                                                         ForkJoinPool forkJoinPool) {
+    if (fitness instanceof RemoteFitnessFunction) {
+      // score the offspring in batches on the workers before the engine asks for them one by one
+      alterers = new ArrayList<>(alterers);
+      alterers.add(((RemoteFitnessFunction) fitness).batchEvaluator());
+    }
+
+    Alterer<EnumGene<SeatCore>, Double> first = alterers.get(0);
+    Alterer<EnumGene<SeatCore>, Double>[] rest = alterers.size() > 1 ?
+        alterers.subList(1, alterers.size()).toArray(new Alterer[]{}) :
+        new Alterer[]{};
+
+    EngineParameters parameters = config.engineParameters();
+    Factory<Genotype<EnumGene<SeatCore>>> factory = config.compactEncoding() ?
+        this.compactGenotypeFactory :
+        this.genotypeFactory;
+    Predicate<Genotype<EnumGene<SeatCore>>> validator = config.compactEncoding() ?
+        this.compactGenotypes::isValid :
+        this.genotypeValidator::validateGenotype;
+    return Engine.builder(fitness, factory)
+        .individualCreationRetries(parameters.individualCreationRetries())
+        .minimizing()
+        .genotypeValidator(validator)
+        .populationSize(populationSize)
+        .survivorsSize(parameters.survivorsSizeFor(populationSize))
+        .populationFilter(new ForkJoinPopulationFilter<>(forkJoinPool, parameters.populationFilterThreshold()))
+        .executor(executor)
+        .maximalPhenotypeAge(parameters.maximalPhenotypeAge())
+        .alterers(first, rest)
+        .parallelPhenotypeGeneration(config.parallelPhenotypeGeneration())
+        .build();
+  }
+
+  /**
+   * Rebuilds the rescalable alterers with their probability times the scale, capped at 1. Other alterers
+   * are used as configured.
+   */
+  @SuppressWarnings("unchecked")
+  private static List<Alterer<EnumGene<SeatCore>, Double>> scaled(List<Alterer<EnumGene<SeatCore>, Double>> alterers,
+                                                                 double scale) {
+    List<Alterer<EnumGene<SeatCore>, Double>> scaled = new ArrayList<>(alterers.size());
+    for (Alterer<EnumGene<SeatCore>, Double> alterer : alterers) {
+      if (alterer instanceof RescalableAlterer) {
+        RescalableAlterer<EnumGene<SeatCore>, Double> rescalable = (RescalableAlterer<EnumGene<SeatCore>, Double>) alterer;
+        scaled.add(rescalable.withProbability(Math.min(1, rescalable.getProbability() * scale)));
+      } else {
+        scaled.add(alterer);
+      }
+    }
+    return scaled;
+  }
+
   private String getPath(String filename) {
     return new File(config.getOutputDirectory(), filename).getAbsolutePath();
   }
 
+  private void checkEncoding(List<Alterer<EnumGene<SeatCore>, Double>> alterers) {
+    for (Alterer<EnumGene<SeatCore>, Double> alterer : alterers) {
+      if ((alterer instanceof CompactMutator) != config.compactEncoding()) {
+        throw new IllegalArgumentException(config.compactEncoding() ?
+            "Compact encoding only supports compact alterers, got " + alterer :
+            "Compact alterers need compact encoding, got " + alterer);
+      }
+    }
+  }
+
   private void writeGenotype(EvolutionResult<EnumGene<SeatCore>, Double> result, long run) {
+    Genotype<EnumGene<SeatCore>> genotype = compactGenotypes.expand(result.getBestPhenotype().getGenotype());
     try {
       GenotypeVisualizer.outputGraphViz(
-          result.getBestPhenotype().getGenotype(),
+          genotype,
           getPath(String.format("run-%d-gen-%06d.dot", run, result.getTotalGenerations()))
       );
       genotypeWriter.write(
-          result.getBestPhenotype().getGenotype(),
+          genotype,
           getPath(String.format("run-%d-gen-%06d.json", run, result.getTotalGenerations()))
       );
     } catch (IOException e) {
@@ -188,75 +424,39 @@ public class SeatSolver {
   }
 
   private double timedFitness(Genotype<EnumGene<SeatCore>> genotype) {
-    Stopwatch stopwatch = Stopwatch.createStarted();
-    double fitness = fitness(genotype);
-    LOG.debug("Scored genotype in {}ns", stopwatch.elapsed(TimeUnit.NANOSECONDS));
-    return fitness;
-  }
-
-  private double fitness(Genotype<EnumGene<SeatCore>> genotype) {
-    Map<String, TeamChromosome> chromosomeByTeamCore = genotype.stream()
-        .filter(c -> !(c instanceof EmptySeatChromosome))
-        .map(c -> ((TeamChromosome) c))
-        .collect(Collectors.toMap(c -> c.getTeam().id(), c -> c, (left, right) -> right));
-
-    DoubleStatistics intraTeamStats = new DoubleStatistics();
-    DoubleStatistics pinnedTeamStats = new DoubleStatistics();
-    DoubleStatistics squarenessStats = new DoubleStatistics();
-    DoubleStatistics adjacencyStats = new DoubleStatistics();
-
-    genotype.stream()
-        .filter(c -> !(c instanceof EmptySeatChromosome))
-        .forEach(genes -> {
-          TeamChromosome chromosome = ((TeamChromosome) genes);
-          intraTeamStats.accept(chromosome.calculateTeamDistanceCost());
-          pinnedTeamStats.accept(chromosome.calculatePinnedDistanceCost());
-          squarenessStats.accept(chromosome.squarenessScore());
-          adjacencyDists(chromosome, chromosomeByTeamCore).forEach(adjacencyStats);
-        });
-
-    double intraTeamScaled;
-    if (config.seatSolverParams().intraTeamPercentile() > 0) {
-      intraTeamScaled = intraTeamStats.getApproxPerentile(config.seatSolverParams().intraTeamPercentile());
-    } else {
-      intraTeamScaled = intraTeamStats.getSum() * intraTeamStats.getStandardDeviation();
+    if (!LOG.isDebugEnabled()) {
+      return score(genotype);
     }
-    double adjacencyScaled = adjacencyStats.getSum() * adjacencyStats.getStandardDeviation();
-    double squarenessScaled = squarenessStats.getSum() * squarenessStats.getStandardDeviation();
-    double pinnedScale = pinnedTeamStats.getSum();
-    return config.seatSolverParams().intraTeamScoreWeight() * intraTeamScaled +
-        config.seatSolverParams().interTeamScoreWeight() * (adjacencyScaled + pinnedScale) +
-        config.seatSolverParams().intraTeamSquarenessWeight() * (squarenessScaled + pinnedScale);
+
+    long start = System.nanoTime();
+    double fitness = score(genotype);
+    LOG.debug("Scored genotype in {}ns", System.nanoTime() - start);
+    return fitness;
   }
 
-  private DoubleStream adjacencyDists(TeamChromosome chromosome,
-                                      Map<String, TeamChromosome> chromosomeByTeamCore) {
-    return chromosome.getTeam().wantsAdjacent().stream()
-        .mapToDouble(adj -> {
-          TeamChromosome other = chromosomeByTeamCore.get(adj.id());
-          if (other == null) {
-            return ((double) 0);
-          }
-          return Math.abs(PointUtils.distance(chromosome.centroid(), other.centroid())) * adj.effectiveWeight();
-        })
-        .filter(d -> d > 0);
+  private double score(Genotype<EnumGene<SeatCore>> genotype) {
+    return config.compactEncoding() ?
+        compactFitnessFunction.fitness(compactGenotypes.encode(genotype)) :
+        fitnessFunction.fitness(genotype);
   }
 
-  private PopulationResult buildPopulationResult(EvolutionResult<EnumGene<SeatCore>, Double> result) {
+  private PopulationResult buildPopulationResult(EvolutionResult<EnumGene<SeatCore>, Double> result,
+                                                 Optional<String> stopReason) {
     List<AssignmentResult> top10Results = result.getPopulation().stream()
         .sorted(Comparator.<Phenotype<? ,Double>, Double>comparing(Phenotype::getFitness).reversed())
         .limit(10)
         .map(gene -> AssignmentResult.builder()
-            .addAllTeamAssignments(genotypeWriter.buildAssignments(gene.getGenotype()))
+            .addAllTeamAssignments(genotypeWriter.buildAssignments(compactGenotypes.expand(gene.getGenotype())))
             .fitness(gene.getRawFitness())
             .build())
         .collect(Collectors.toList());
     return PopulationResult.builder()
         .addAllTopTen(top10Results)
         .best(AssignmentResult.builder()
-            .addAllTeamAssignments(genotypeWriter.buildAssignments(result.getBestPhenotype().getGenotype()))
+            .addAllTeamAssignments(genotypeWriter.buildAssignments(compactGenotypes.expand(result.getBestPhenotype().getGenotype())))
             .fitness(result.getBestPhenotype().getRawFitness())
             .build())
+        .stopReason(stopReason)
         .build();
   }
 }
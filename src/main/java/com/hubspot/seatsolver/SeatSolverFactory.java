@@ -3,6 +3,7 @@ package com.hubspot.seatsolver;
 import com.google.inject.Guice;
 import com.google.inject.Injector;
 import com.hubspot.seatsolver.config.SeatSolverConfig;
+import com.hubspot.seatsolver.distributed.FitnessWorker;
 
 public final class SeatSolverFactory {
 
@@ -14,4 +15,13 @@ public final class SeatSolverFactory {
 
     return i.getInstance(SeatSolver.class);
   }
+
+  /**
+   * A worker scoring genotypes for a coordinator, the config's distributed config says where to find it
+   */
+  public static FitnessWorker createFitnessWorker(SeatSolverConfig config) {
+    Injector i = Guice.createInjector(new SeatSolverModule(config));
+
+    return i.getInstance(FitnessWorker.class);
+  }
 }
@@ -9,6 +9,8 @@ import com.google.common.collect.ImmutableList;
 import com.google.inject.AbstractModule;
 import com.google.inject.TypeLiteral;
 import com.hubspot.seatsolver.config.SeatSolverConfig;
+import com.hubspot.seatsolver.genetic.SeatBlockLibrary;
+import com.hubspot.seatsolver.genetic.TeamSizeBuckets;
 import com.hubspot.seatsolver.model.SeatCore;
 import com.hubspot.seatsolver.model.TeamCore;
 
@@ -37,6 +39,9 @@ public class SeatSolverModule extends AbstractModule {
     ObjectMapper objectMapper = new ObjectMapper()
         .registerModules(new GuavaModule(), new Jdk8Module());
     bind(ObjectMapper.class).toInstance(objectMapper);
+
+    bind(SeatBlockLibrary.class).asEagerSingleton();
+    bind(TeamSizeBuckets.class).asEagerSingleton();
   }
 
 }
@@ -0,0 +1,81 @@
+package com.hubspot.seatsolver.adaptive;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.hubspot.seatsolver.config.AdaptiveEngineConfig;
+
+/**
+ * Decides the population size and alterer scale of the next epoch from how the last one went:
+ * <ul>
+ *   <li>too many invalid offspring: alter less, the mutations are mostly wasted</li>
+ *   <li>stalled: alter more, and grow the population while generations stay within the time target</li>
+ *   <li>improving: drift the alterer scale back to 1</li>
+ *   <li>over the time target: shrink the population</li>
+ * </ul>
+ * Fitness is minimized.
+ */
+public class AdaptiveController {
+  private static final Logger LOG = LoggerFactory.getLogger(AdaptiveController.class);
+
+  private final AdaptiveEngineConfig config;
+
+  private int populationSize;
+  private double altererScale = 1;
+
+  public AdaptiveController(AdaptiveEngineConfig config, int populationSize) {
+    this.config = config;
+    this.populationSize = clamp(populationSize, config.minPopulationSize(), config.maxPopulationSize());
+  }
+
+  public int getPopulationSize() {
+    return populationSize;
+  }
+
+  public double getAltererScale() {
+    return altererScale;
+  }
+
+  /**
+   * @param startFitness best fitness when the epoch started
+   * @param endFitness best fitness when it ended
+   * @param invalidFraction invalid individuals over all individuals evolved in the epoch
+   */
+  public void update(double millisPerGeneration, double startFitness, double endFitness, double invalidFraction) {
+    double improvement = startFitness == 0 ? 0 : (startFitness - endFitness) / Math.abs(startFitness);
+    boolean stalled = improvement < config.stagnationThreshold();
+    double step = config.stepFactor();
+
+    if (invalidFraction > config.maxInvalidFraction()) {
+      altererScale /= step;
+    } else if (stalled) {
+      altererScale *= step;
+    } else if (altererScale > 1) {
+      altererScale = Math.max(1, altererScale / step);
+    } else {
+      altererScale = Math.min(1, altererScale * step);
+    }
+    altererScale = Math.max(config.minAltererScale(), Math.min(config.maxAltererScale(), altererScale));
+
+    // generation time is roughly linear in the population
+    if (millisPerGeneration > config.targetMillisPerGeneration()) {
+      populationSize = (int) (populationSize / step);
+    } else if (stalled && millisPerGeneration * step <= config.targetMillisPerGeneration()) {
+      populationSize = (int) Math.ceil(populationSize * step);
+    }
+    populationSize = clamp(populationSize, config.minPopulationSize(), config.maxPopulationSize());
+
+    LOG.info(
+        "Epoch: {} ms/gen, improvement {}, invalid {} -> population {}, alterer scale {}",
+        String.format("%.1f", millisPerGeneration),
+        String.format("%.5f", improvement),
+        String.format("%.3f", invalidFraction),
+        populationSize,
+        String.format("%.2f", altererScale)
+    );
+  }
+
+  private static int clamp(int value, int min, int max) {
+    return Math.max(min, Math.min(max, value));
+  }
+}
@@ -0,0 +1,86 @@
+package com.hubspot.seatsolver.adaptive;
+
+
+import com.hubspot.seatsolver.model.SeatCore;
+
+import io.jenetics.EnumGene;
+import io.jenetics.Phenotype;
+import io.jenetics.engine.Engine;
+import io.jenetics.engine.EvolutionResult;
+import io.jenetics.engine.EvolutionStart;
+import io.jenetics.engine.EvolutionStream;
+import io.jenetics.util.ISeq;
+
+/**
+ * Evolves one population in epochs, building a fresh engine with the controller's settings for each.
+ * The population carries over: a larger engine tops it up with new individuals, a smaller one selects
+ * down from it.
+ */
+public class AdaptiveEvolution {
+
+  public interface EngineFactory {
+    Engine<EnumGene<SeatCore>, Double> build(int populationSize, double altererScale);
+  }
+
+  private final EngineFactory engineFactory;
+  private final AdaptiveController controller;
+  private final int epochGenerations;
+
+  private Engine<EnumGene<SeatCore>, Double> engine;
+  private ISeq<Phenotype<EnumGene<SeatCore>, Double>> population = ISeq.empty();
+  private long generation = 1;
+
+  private int epochGeneration;
+  private long epochNanos;
+  private long epochIndividuals;
+  private long epochInvalid;
+  private double epochStartFitness = Double.NaN;
+  private double bestFitness = Double.NaN;
+
+  public AdaptiveEvolution(EngineFactory engineFactory, AdaptiveController controller, int epochGenerations) {
+    this.engineFactory = engineFactory;
+    this.controller = controller;
+    this.epochGenerations = epochGenerations;
+  }
+
+  public EvolutionStream<EnumGene<SeatCore>, Double> stream() {
+    // the population is carried over here, the stream only drives it
+    return EvolutionStream.of(() -> EvolutionStart.of(ISeq.empty(), 1), start -> evolve());
+  }
+
+  public EvolutionResult<EnumGene<SeatCore>, Double> evolve() {
+    if (engine == null || epochGeneration == epochGenerations) {
+      if (engine != null) {
+        controller.update(
+            epochNanos / 1e6 / epochGeneration,
+            epochStartFitness,
+            bestFitness,
+            epochIndividuals == 0 ? 0 : (double) epochInvalid / epochIndividuals
+        );
+      }
+      engine = engineFactory.build(controller.getPopulationSize(), controller.getAltererScale());
+      epochGeneration = 0;
+      epochNanos = 0;
+      epochIndividuals = 0;
+      epochInvalid = 0;
+      epochStartFitness = bestFitness;
+    }
+
+    long start = System.nanoTime();
+    EvolutionResult<EnumGene<SeatCore>, Double> result = engine.evolve(EvolutionStart.of(population, generation));
+    epochNanos += System.nanoTime() - start;
+
+    epochGeneration++;
+    epochIndividuals += result.getPopulation().size();
+    // kills are age kills, which say nothing about how disruptive the alterers are
+    epochInvalid += result.getInvalidCount();
+    bestFitness = result.getBestFitness();
+    if (Double.isNaN(epochStartFitness)) {
+      epochStartFitness = bestFitness;
+    }
+
+    population = result.getPopulation();
+    generation = result.getGeneration() + 1;
+    return result;
+  }
+}
@@ -0,0 +1,93 @@
+package com.hubspot.seatsolver.config;
+
+import org.immutables.value.Value;
+
+import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+import com.google.common.base.Preconditions;
+
+/**
+ * Bounds and targets for {@link com.hubspot.seatsolver.adaptive.AdaptiveController}
+ */
+@Value.Immutable
+@Value.Style(
+    typeAbstract = {"*IF"},
+    typeImmutable = "*"
+)
+@JsonSerialize(as = AdaptiveEngineConfig.class)
+@JsonDeserialize(as = AdaptiveEngineConfig.class)
+public interface AdaptiveEngineConfigIF {
+  /**
+   * Generations between adjustments
+   */
+  @Value.Default
+  default int epochGenerations() {
+    return 50;
+  }
+
+  @Value.Default
+  default int minPopulationSize() {
+    return 100;
+  }
+
+  @Value.Default
+  default int maxPopulationSize() {
+    return 5000;
+  }
+
+  /**
+   * The population only grows while a larger one is expected to stay within this
+   */
+  @Value.Default
+  default double targetMillisPerGeneration() {
+    return 1000;
+  }
+
+  /**
+   * Relative improvement of the best fitness over an epoch below which the search counts as stalled
+   */
+  @Value.Default
+  default double stagnationThreshold() {
+    return 0.001;
+  }
+
+  /**
+   * Share of individuals found invalid over an epoch above which alteration is toned down
+   */
+  @Value.Default
+  default double maxInvalidFraction() {
+    return 0.25;
+  }
+
+  @Value.Default
+  default double minAltererScale() {
+    return 0.25;
+  }
+
+  @Value.Default
+  default double maxAltererScale() {
+    return 4;
+  }
+
+  /**
+   * Factor the population and alterer scale change by per adjustment
+   */
+  @Value.Default
+  default double stepFactor() {
+    return 1.25;
+  }
+
+  @Value.Check
+  default void check() {
+    Preconditions.checkState(epochGenerations() > 0, "epochGenerations must be positive");
+    Preconditions.checkState(
+        minPopulationSize() > 1 && minPopulationSize() <= maxPopulationSize(),
+        "population bounds must satisfy 1 < minPopulationSize <= maxPopulationSize"
+    );
+    Preconditions.checkState(
+        minAltererScale() > 0 && minAltererScale() <= 1 && maxAltererScale() >= 1,
+        "alterer scale bounds must satisfy 0 < minAltererScale <= 1 <= maxAltererScale"
+    );
+    Preconditions.checkState(stepFactor() > 1, "stepFactor must be larger than 1");
+  }
+}
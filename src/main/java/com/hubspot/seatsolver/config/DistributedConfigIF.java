@@ -0,0 +1,67 @@
+package com.hubspot.seatsolver.config;
+
+import org.immutables.value.Value.Check;
+import org.immutables.value.Value.Default;
+import org.immutables.value.Value.Immutable;
+import org.immutables.value.Value.Style;
+
+import com.google.common.base.Preconditions;
+import com.hubspot.seatsolver.distributed.LoopbackSocketTransports;
+import com.hubspot.seatsolver.distributed.TransportProvider;
+
+/**
+ * Spreads a run over several solver processes. Every process loads the same input itself, including its
+ * own {@link com.hubspot.seatsolver.grid.SeatGrid} (share a grid cache directory to skip rebuilding it),
+ * and only seat assignments go over the transport.
+ */
+@Immutable
+@Style(
+    typeAbstract = {"*IF"},
+    typeImmutable = "*"
+)
+public interface DistributedConfigIF {
+  DistributedRole role();
+
+  @Default
+  default DistributedMode mode() {
+    return DistributedMode.FITNESS;
+  }
+
+  @Default
+  default int port() {
+    return 47100;
+  }
+
+  /**
+   * How many workers the coordinator waits for before it starts
+   */
+  @Default
+  default int workerCount() {
+    return 1;
+  }
+
+  /**
+   * How many genotypes the coordinator sends a fitness worker per round trip
+   */
+  @Default
+  default int fitnessBatchSize() {
+    return 64;
+  }
+
+  @Default
+  default long connectTimeoutMillis() {
+    return 60_000;
+  }
+
+  @Default
+  default TransportProvider transportProvider() {
+    return new LoopbackSocketTransports();
+  }
+
+  @Check
+  default void check() {
+    Preconditions.checkState(workerCount() > 0, "workerCount must be positive");
+    Preconditions.checkState(fitnessBatchSize() > 0, "fitnessBatchSize must be positive");
+    Preconditions.checkState(port() > 0 && port() < 65536, "port must be a valid TCP port");
+  }
+}
@@ -0,0 +1,12 @@
+package com.hubspot.seatsolver.config;
+
+public enum DistributedMode {
+  /**
+   * Workers score genotypes for the coordinator's engines
+   */
+  FITNESS,
+  /**
+   * Every process evolves its own islands, workers exchange migrants with the coordinator
+   */
+  ISLANDS
+}
@@ -0,0 +1,12 @@
+package com.hubspot.seatsolver.config;
+
+public enum DistributedRole {
+  /**
+   * Runs the evolution and waits for the workers to connect to it
+   */
+  COORDINATOR,
+  /**
+   * Connects to a coordinator on the same box
+   */
+  WORKER
+}
@@ -0,0 +1,66 @@
+package com.hubspot.seatsolver.config;
+
+import org.immutables.value.Value;
+
+import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+import com.google.common.base.Preconditions;
+
+@Value.Immutable
+@Value.Style(
+    typeAbstract = {"*IF"},
+    typeImmutable = "*"
+)
+@JsonSerialize(as = EngineParameters.class)
+@JsonDeserialize(as = EngineParameters.class)
+public interface EngineParametersIF {
+  @Value.Default
+  default int populationSize() {
+    return 1000;
+  }
+
+  /**
+   * Individuals carried over unaltered each generation. Populations of other sizes, islands or adaptively
+   * resized ones, keep the same share.
+   */
+  @Value.Default
+  default int survivorsSize() {
+    return 66;
+  }
+
+  @Value.Default
+  default long maximalPhenotypeAge() {
+    return 100;
+  }
+
+  /**
+   * Split threshold of the ForkJoin population filter
+   */
+  @Value.Default
+  default int populationFilterThreshold() {
+    return 42;
+  }
+
+  @Value.Default
+  default int individualCreationRetries() {
+    return 100000;
+  }
+
+  @Value.Check
+  default void check() {
+    Preconditions.checkState(populationSize() > 1, "populationSize must be larger than 1");
+    Preconditions.checkState(
+        survivorsSize() > 0 && survivorsSize() < populationSize(),
+        "survivorsSize must be in (0, populationSize)"
+    );
+    Preconditions.checkState(maximalPhenotypeAge() > 0, "maximalPhenotypeAge must be positive");
+    Preconditions.checkState(populationFilterThreshold() > 0, "populationFilterThreshold must be positive");
+  }
+
+  /**
+   * @return the survivors for a population of the given size, in the same proportion as configured
+   */
+  default int survivorsSizeFor(int populationSize) {
+    return Math.max(1, (int) ((long) survivorsSize() * populationSize / populationSize()));
+  }
+}
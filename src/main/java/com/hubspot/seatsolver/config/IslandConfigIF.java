@@ -0,0 +1,79 @@
+package com.hubspot.seatsolver.config;
+
+import java.util.List;
+import java.util.Optional;
+
+import org.immutables.value.Value.Check;
+import org.immutables.value.Value.Default;
+import org.immutables.value.Value.Immutable;
+import org.immutables.value.Value.Style;
+
+import com.google.common.base.Preconditions;
+import com.hubspot.seatsolver.model.SeatCore;
+
+import io.jenetics.Alterer;
+import io.jenetics.EnumGene;
+
+@Immutable
+@Style(
+    typeAbstract = {"*IF"},
+    typeImmutable = "*"
+)
+public interface IslandConfigIF {
+  @Default
+  default int islandCount() {
+    return 4;
+  }
+
+  /**
+   * Population of each island, defaults to the solver's population split evenly across the islands
+   */
+  Optional<Integer> islandPopulationSize();
+
+  /**
+   * Threads of each island's own fitness executor and population filter pool, defaults to the available
+   * processors split evenly across the islands
+   */
+  Optional<Integer> threadsPerIsland();
+
+  /**
+   * Generations between migrations
+   */
+  @Default
+  default int migrationInterval() {
+    return 50;
+  }
+
+  /**
+   * How many of its best individuals an island sends on each migration, they replace the receiver's worst
+   */
+  @Default
+  default int migrantCount() {
+    return 5;
+  }
+
+  @Default
+  default MigrationTopology migrationTopology() {
+    return MigrationTopology.RING;
+  }
+
+  /**
+   * Alterers per island, island i uses entry i modulo the list size. Islands use the solver's alterers when empty.
+   */
+  List<List<Alterer<EnumGene<SeatCore>, Double>>> islandAlterers();
+
+  @Check
+  default void check() {
+    Preconditions.checkState(islandCount() > 0, "islandCount must be positive");
+    Preconditions.checkState(migrationInterval() > 0, "migrationInterval must be positive");
+    Preconditions.checkState(migrantCount() >= 0, "migrantCount must not be negative");
+    Preconditions.checkState(threadsPerIsland().orElse(1) > 0, "threadsPerIsland must be positive");
+    Preconditions.checkState(
+        !islandPopulationSize().isPresent() || islandPopulationSize().get() > migrantCount(),
+        "islandPopulationSize must be larger than migrantCount"
+    );
+    for (List<Alterer<EnumGene<SeatCore>, Double>> alterers : islandAlterers()) {
+      Preconditions.checkState(!alterers.isEmpty(), "island alterers must not be empty");
+    }
+  }
+}
@@ -0,0 +1,19 @@
+package com.hubspot.seatsolver.config;
+
+/**
+ * Which islands receive an island's migrants
+ */
+public enum MigrationTopology {
+  /**
+   * Island i sends to island i + 1, wrapping around
+   */
+  RING,
+  /**
+   * Every island sends to every other island
+   */
+  FULLY_CONNECTED,
+  /**
+   * Each migration goes to one other island picked at random
+   */
+  RANDOM
+}
@@ -6,10 +6,12 @@ import java.util.Optional;
 import java.util.concurrent.Executor;
 import java.util.concurrent.Executors;
 
+import org.immutables.value.Value.Check;
 import org.immutables.value.Value.Default;
 import org.immutables.value.Value.Immutable;
 import org.immutables.value.Value.Style;
 
+import com.google.common.base.Preconditions;
 import com.hubspot.seatsolver.model.SeatCore;
 
 import io.jenetics.Alterer;
@@ -29,16 +31,65 @@ public interface SeatSolverConfigIF {
 
   Optional<SolutionListener> solutionListener();
 
+  /**
+   * Where to persist the seat adjacency graph between runs, it is rebuilt every run when absent
+   */
+  Optional<File> gridCacheDirectory();
+
+  /**
+   * Evolve several independent populations that periodically exchange their best individuals, instead of one
+   */
+  Optional<IslandConfig> islandConfig();
+
+  /**
+   * Run as a coordinator or worker of a multi-process solve
+   */
+  Optional<DistributedConfig> distributedConfig();
+
   @Default
   default SeatSolverParams seatSolverParams() {
     return SeatSolverParams.builder().build();
   }
 
+  @Default
+  default EngineParameters engineParameters() {
+    return EngineParameters.builder().build();
+  }
+
+  /**
+   * Resize the population and scale the alterers between epochs from how the run is going, starting
+   * from the engine parameters. Only alterers implementing
+   * {@link com.hubspot.seatsolver.genetic.alter.RescalableAlterer} are scaled. Applies when evolving a
+   * single population, so it can't be combined with islands.
+   */
+  Optional<AdaptiveEngineConfig> adaptiveEngineConfig();
+
+  @Default
+  default StoppingConfig stoppingConfig() {
+    return StoppingConfig.builder().build();
+  }
+
   @Default
   default int getGenerationWriteFrequency() {
     return 100;
   }
 
+  @Default
+  default long teamCostCacheSize() {
+    return 100_000;
+  }
+
+  /**
+   * Evolve compact genotypes, an int array assignment per individual, instead of team chromosomes. The
+   * alterers must then be {@link com.hubspot.seatsolver.genetic.compact.CompactMutator}s. Results are
+   * written in chromosome form, but the phenotype returned by the solver stays compact, expand it with
+   * {@link com.hubspot.seatsolver.genetic.compact.CompactGenotypes#expand}.
+   */
+  @Default
+  default boolean compactEncoding() {
+    return false;
+  }
+
   @Default
   default boolean parallelPhenotypeGeneration() {
     return false;
@@ -53,4 +104,14 @@ public interface SeatSolverConfigIF {
   default Executor executor() {
     return Executors.newFixedThreadPool(Runtime.getRuntime().availableProcessors());
   }
+
+  @Check
+  default void check() {
+    boolean islands = islandConfig().isPresent() ||
+        distributedConfig().map(distributed -> distributed.mode() == DistributedMode.ISLANDS).orElse(false);
+    Preconditions.checkState(
+        !(islands && adaptiveEngineConfig().isPresent()),
+        "adaptiveEngineConfig applies to a single population and can't be combined with islands"
+    );
+  }
 }
@@ -2,7 +2,20 @@ package com.hubspot.seatsolver.config;
 
 import com.hubspot.seatsolver.model.PopulationResult;
 
+/**
+ * Notified of checkpoints and of the final solution. The two methods are called from different threads,
+ * implementations sharing state between them must synchronize it.
+ */
 public interface SolutionListener {
+  /**
+   * Called from the background checkpoint writer thread, one checkpoint at a time, after the checkpoint
+   * files were written. Checkpoints can be skipped when a newer one is ready before the last was handled,
+   * and the evolution doesn't wait for this to return.
+   */
   void checkpointSolution(PopulationResult populationResult, long generation);
+
+  /**
+   * Called from the thread running the solver once evolution is over, after the last checkpoint
+   */
   void completeSolution(PopulationResult populationResult);
 }
@@ -0,0 +1,61 @@
+package com.hubspot.seatsolver.config;
+
+import java.time.Duration;
+import java.util.Optional;
+
+import org.immutables.value.Value.Check;
+import org.immutables.value.Value.Default;
+import org.immutables.value.Value.Immutable;
+import org.immutables.value.Value.Style;
+
+import com.google.common.base.Preconditions;
+
+/**
+ * When to stop evolving, the first rule to fire ends the run. The budget and generation limit always
+ * apply, the other rules only when set.
+ */
+@Immutable
+@Style(
+    typeAbstract = {"*IF"},
+    typeImmutable = "*"
+)
+public interface StoppingConfigIF {
+  @Default
+  default Duration wallClockBudget() {
+    return Duration.ofHours(12);
+  }
+
+  @Default
+  default long maxGenerations() {
+    return 100000;
+  }
+
+  /**
+   * Stop once the best fitness hasn't improved for this many generations
+   */
+  Optional<Integer> stagnationGenerations();
+
+  /**
+   * Stop once the best fitness improved by less than {@link #minRelativeImprovement()} over this many generations
+   */
+  Optional<Integer> improvementWindow();
+
+  @Default
+  default double minRelativeImprovement() {
+    return 0.0001;
+  }
+
+  /**
+   * Stop as soon as the best fitness is at or below this, fitness is minimized
+   */
+  Optional<Double> targetFitness();
+
+  @Check
+  default void check() {
+    Preconditions.checkState(!wallClockBudget().isNegative() && !wallClockBudget().isZero(), "wallClockBudget must be positive");
+    Preconditions.checkState(maxGenerations() > 0, "maxGenerations must be positive");
+    Preconditions.checkState(stagnationGenerations().orElse(1) > 0, "stagnationGenerations must be positive");
+    Preconditions.checkState(improvementWindow().orElse(1) > 0, "improvementWindow must be positive");
+    Preconditions.checkState(minRelativeImprovement() >= 0, "minRelativeImprovement must not be negative");
+  }
+}
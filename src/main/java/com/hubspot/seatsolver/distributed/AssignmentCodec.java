@@ -0,0 +1,89 @@
+package com.hubspot.seatsolver.distributed;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import com.google.common.base.Preconditions;
+import com.google.inject.Inject;
+import com.google.inject.Singleton;
+import com.hubspot.seatsolver.genetic.compact.CompactAssignment;
+import com.hubspot.seatsolver.genetic.compact.CompactGenotypes;
+import com.hubspot.seatsolver.grid.SeatGrid;
+import com.hubspot.seatsolver.model.SeatCore;
+
+import io.jenetics.EnumGene;
+import io.jenetics.Genotype;
+
+/**
+ * Packs assignments into ints for the wire: the assignment count, then per assignment the team count
+ * followed by each team's size and seat indexes. Seat and team indexes only mean the same thing on both
+ * ends because the processes checked each other's input keys first.
+ */
+@Singleton
+public class AssignmentCodec {
+  private final CompactGenotypes compactGenotypes;
+  private final int seatCount;
+
+  @Inject
+  public AssignmentCodec(CompactGenotypes compactGenotypes, SeatGrid grid) {
+    this.compactGenotypes = compactGenotypes;
+    this.seatCount = grid.size();
+  }
+
+  public int[] encodeGenotypes(List<Genotype<EnumGene<SeatCore>>> genotypes) {
+    List<CompactAssignment> assignments = new ArrayList<>(genotypes.size());
+    for (Genotype<EnumGene<SeatCore>> genotype : genotypes) {
+      assignments.add(compactGenotypes.encode(genotype));
+    }
+    return encode(assignments);
+  }
+
+  public List<Genotype<EnumGene<SeatCore>>> decodeGenotypes(int[] encoded) {
+    List<CompactAssignment> assignments = decode(encoded);
+    List<Genotype<EnumGene<SeatCore>>> genotypes = new ArrayList<>(assignments.size());
+    for (CompactAssignment assignment : assignments) {
+      genotypes.add(compactGenotypes.toGenotype(assignment));
+    }
+    return genotypes;
+  }
+
+  public int[] encode(List<CompactAssignment> assignments) {
+    int length = 1;
+    for (CompactAssignment assignment : assignments) {
+      length += 1 + assignment.teamCount() + assignment.getTeamSeats().length;
+    }
+
+    int[] encoded = new int[length];
+    int position = 0;
+    encoded[position++] = assignments.size();
+    for (CompactAssignment assignment : assignments) {
+      encoded[position++] = assignment.teamCount();
+      int[] teamSeats = assignment.getTeamSeats();
+      for (int team = 0; team < assignment.teamCount(); team++) {
+        int size = assignment.teamSize(team);
+        encoded[position++] = size;
+        System.arraycopy(teamSeats, assignment.teamStart(team), encoded, position, size);
+        position += size;
+      }
+    }
+    return encoded;
+  }
+
+  public List<CompactAssignment> decode(int[] encoded) {
+    int position = 0;
+    int count = encoded[position++];
+    List<CompactAssignment> assignments = new ArrayList<>(count);
+    for (int i = 0; i < count; i++) {
+      int[][] seatsByTeam = new int[encoded[position++]][];
+      for (int team = 0; team < seatsByTeam.length; team++) {
+        int size = encoded[position++];
+        seatsByTeam[team] = new int[size];
+        System.arraycopy(encoded, position, seatsByTeam[team], 0, size);
+        position += size;
+      }
+      assignments.add(CompactAssignment.of(seatCount, seatsByTeam));
+    }
+    Preconditions.checkArgument(position == encoded.length, "%s trailing ints after %s assignments", encoded.length - position, count);
+    return assignments;
+  }
+}
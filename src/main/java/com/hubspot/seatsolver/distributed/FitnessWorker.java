@@ -0,0 +1,73 @@
+package com.hubspot.seatsolver.distributed;
+
+import java.io.IOException;
+import java.util.List;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.google.inject.Inject;
+import com.hubspot.seatsolver.config.DistributedConfig;
+import com.hubspot.seatsolver.config.SeatSolverConfig;
+import com.hubspot.seatsolver.fitness.CompactFitnessFunction;
+import com.hubspot.seatsolver.genetic.compact.CompactAssignment;
+
+/**
+ * Scores batches of assignments for a coordinator in {@link com.hubspot.seatsolver.config.DistributedMode#FITNESS} mode
+ */
+public class FitnessWorker {
+  private static final Logger LOG = LoggerFactory.getLogger(FitnessWorker.class);
+
+  private final SeatSolverConfig config;
+  private final Handshake handshake;
+  private final AssignmentCodec codec;
+  private final CompactFitnessFunction fitnessFunction;
+
+  @Inject
+  public FitnessWorker(SeatSolverConfig config,
+                       Handshake handshake,
+                       AssignmentCodec codec,
+                       CompactFitnessFunction fitnessFunction) {
+    this.config = config;
+    this.handshake = handshake;
+    this.codec = codec;
+    this.fitnessFunction = fitnessFunction;
+  }
+
+  /**
+   * Connects to the coordinator and serves it until it shuts down
+   */
+  public void run() throws IOException {
+    DistributedConfig distributedConfig = config.distributedConfig()
+        .orElseThrow(() -> new IllegalStateException("Fitness workers need a distributed config"));
+    try (Transport transport = distributedConfig.transportProvider().connect(distributedConfig)) {
+      serve(transport);
+    }
+  }
+
+  public void serve(Transport transport) throws IOException {
+    handshake.perform(transport);
+    LOG.info("Serving fitness requests from {}", transport);
+
+    long evaluated = 0;
+    while (true) {
+      Frame frame = transport.receive();
+      switch (frame.getType()) {
+        case EVALUATE:
+          List<CompactAssignment> assignments = codec.decode(frame.getInts());
+          double[] fitness = new double[assignments.size()];
+          for (int i = 0; i < fitness.length; i++) {
+            fitness[i] = fitnessFunction.fitness(assignments.get(i));
+          }
+          transport.send(Frame.of(Frame.Type.FITNESS, fitness));
+          evaluated += fitness.length;
+          break;
+        case SHUTDOWN:
+          LOG.info("Coordinator shut down after {} evaluations", evaluated);
+          return;
+        default:
+          throw new IllegalStateException("Unexpected " + frame.getType() + " frame from " + transport);
+      }
+    }
+  }
+}
@@ -0,0 +1,63 @@
+package com.hubspot.seatsolver.distributed;
+
+/**
+ * One message between solver processes, a type with an int and a double payload
+ */
+public final class Frame {
+  private static final int[] NO_INTS = new int[0];
+  private static final double[] NO_DOUBLES = new double[0];
+
+  public enum Type {
+    /**
+     * Input key, both sides send one first and drop the connection if they differ
+     */
+    HELLO,
+    /**
+     * Encoded assignments to score
+     */
+    EVALUATE,
+    /**
+     * Fitness of each assignment of the last EVALUATE, in order
+     */
+    FITNESS,
+    /**
+     * Encoded assignments of individuals migrating between processes
+     */
+    MIGRANTS,
+    SHUTDOWN
+  }
+
+  private final Type type;
+  private final int[] ints;
+  private final double[] doubles;
+
+  public Frame(Type type, int[] ints, double[] doubles) {
+    this.type = type;
+    this.ints = ints;
+    this.doubles = doubles;
+  }
+
+  public static Frame of(Type type, int[] ints) {
+    return new Frame(type, ints, NO_DOUBLES);
+  }
+
+  public static Frame of(Type type, double[] doubles) {
+    return new Frame(type, NO_INTS, doubles);
+  }
+
+  public static Frame of(Type type) {
+    return new Frame(type, NO_INTS, NO_DOUBLES);
+  }
+
+  public Type getType() {
+    return type;
+  }
+
+  public int[] getInts() {
+    return ints;
+  }
+
+  public double[] getDoubles() {
+    return doubles;
+  }
+}
@@ -0,0 +1,53 @@
+package com.hubspot.seatsolver.distributed;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.IntBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.List;
+
+import com.google.common.hash.Hasher;
+import com.google.common.hash.Hashing;
+import com.google.inject.Inject;
+import com.google.inject.Singleton;
+import com.hubspot.seatsolver.grid.SeatGrid;
+import com.hubspot.seatsolver.model.TeamCore;
+
+/**
+ * Checks that both ends of a transport loaded the same floor and teams, in the same order, before any
+ * seat or team index crosses it
+ */
+@Singleton
+public class Handshake {
+  private final int[] inputKey;
+
+  @Inject
+  public Handshake(SeatGrid grid, List<TeamCore> teams) {
+    Hasher hasher = Hashing.sha256().newHasher()
+        .putBytes(grid.getInputKey().asBytes())
+        .putInt(teams.size());
+    for (TeamCore team : teams) {
+      hasher.putString(team.id(), StandardCharsets.UTF_8)
+          .putInt(team.numMembers());
+    }
+
+    IntBuffer key = ByteBuffer.wrap(hasher.hash().asBytes()).asIntBuffer();
+    this.inputKey = new int[key.remaining()];
+    key.get(inputKey);
+  }
+
+  /**
+   * @throws IllegalStateException if the other side's input differs
+   */
+  public void perform(Transport transport) throws IOException {
+    transport.send(Frame.of(Frame.Type.HELLO, inputKey));
+    Frame hello = transport.receive();
+    if (hello.getType() != Frame.Type.HELLO) {
+      throw new IllegalStateException("Expected HELLO from " + transport + " but got " + hello.getType());
+    }
+    if (!Arrays.equals(inputKey, hello.getInts())) {
+      throw new IllegalStateException(transport + " loaded a different floor plan or team list");
+    }
+  }
+}
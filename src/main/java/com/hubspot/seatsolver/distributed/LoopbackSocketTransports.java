@@ -0,0 +1,59 @@
+package com.hubspot.seatsolver.distributed;
+
+import java.io.IOException;
+import java.net.ConnectException;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.hubspot.seatsolver.config.DistributedConfig;
+
+/**
+ * TCP on the loopback interface, for several solver processes on one box
+ */
+public class LoopbackSocketTransports implements TransportProvider {
+  private static final Logger LOG = LoggerFactory.getLogger(LoopbackSocketTransports.class);
+
+  private static final long CONNECT_RETRY_MILLIS = 250;
+
+  @Override
+  public List<Transport> accept(DistributedConfig config) throws IOException {
+    List<Transport> transports = new ArrayList<>(config.workerCount());
+    try (ServerSocket server = new ServerSocket(config.port(), config.workerCount(), InetAddress.getLoopbackAddress())) {
+      LOG.info("Waiting for {} workers on port {}", config.workerCount(), config.port());
+      while (transports.size() < config.workerCount()) {
+        Transport transport = new SocketTransport(server.accept());
+        LOG.info("Worker {} connected: {}", transports.size(), transport);
+        transports.add(transport);
+      }
+    }
+    return transports;
+  }
+
+  @Override
+  public Transport connect(DistributedConfig config) throws IOException {
+    long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(config.connectTimeoutMillis());
+    while (true) {
+      try {
+        return new SocketTransport(new Socket(InetAddress.getLoopbackAddress(), config.port()));
+      } catch (ConnectException e) {
+        if (System.nanoTime() > deadline) {
+          throw e;
+        }
+        LOG.debug("Coordinator not listening on port {} yet, retrying", config.port());
+        try {
+          Thread.sleep(CONNECT_RETRY_MILLIS);
+        } catch (InterruptedException interrupted) {
+          Thread.currentThread().interrupt();
+          throw new IOException("Interrupted while connecting to coordinator", interrupted);
+        }
+      }
+    }
+  }
+}
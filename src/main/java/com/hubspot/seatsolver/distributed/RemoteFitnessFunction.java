@@ -0,0 +1,189 @@
+package com.hubspot.seatsolver.distributed;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.util.concurrent.Futures;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import com.hubspot.seatsolver.genetic.compact.CompactAssignment;
+import com.hubspot.seatsolver.genetic.compact.CompactGenotypes;
+import com.hubspot.seatsolver.model.SeatCore;
+
+import io.jenetics.Alterer;
+import io.jenetics.AltererResult;
+import io.jenetics.EnumGene;
+import io.jenetics.Genotype;
+import io.jenetics.Phenotype;
+import io.jenetics.util.ISeq;
+import io.jenetics.util.Seq;
+
+/**
+ * Scores genotypes on the workers. The engine asks for fitness one genotype at a time, so
+ * {@link #batchEvaluator()} runs after the engine's alterers and sends every new offspring ahead of that,
+ * in batches spread over the idle workers; the engine's calls then just pick up the scores. Genotypes
+ * that weren't sent ahead, like replacements for invalid individuals, take a round trip each.
+ *
+ * A worker that fails or answers out of protocol is closed and dropped, its batch is retried on another
+ * one. Once no workers are left evaluations fail.
+ */
+public class RemoteFitnessFunction implements Function<Genotype<EnumGene<SeatCore>>, Double>, AutoCloseable {
+  private static final Logger LOG = LoggerFactory.getLogger(RemoteFitnessFunction.class);
+  private static final long WORKER_POLL_MILLIS = 100;
+
+  private final CompactGenotypes compactGenotypes;
+  private final AssignmentCodec codec;
+  private final int batchSize;
+  private final BlockingQueue<Transport> idle;
+  private final AtomicInteger live;
+  private final ExecutorService dispatcher;
+  // keyed by identity, the engine scores the same genotype instances the batch evaluator saw
+  private final Cache<Genotype<EnumGene<SeatCore>>, Double> prefetched = CacheBuilder.newBuilder()
+      .weakKeys()
+      .build();
+
+  public RemoteFitnessFunction(CompactGenotypes compactGenotypes,
+                               AssignmentCodec codec,
+                               List<Transport> workers,
+                               int batchSize) {
+    this.compactGenotypes = compactGenotypes;
+    this.codec = codec;
+    this.batchSize = batchSize;
+    this.idle = new ArrayBlockingQueue<>(workers.size(), false, workers);
+    this.live = new AtomicInteger(workers.size());
+    this.dispatcher = Executors.newFixedThreadPool(
+        workers.size(),
+        new ThreadFactoryBuilder().setNameFormat("fitness-dispatch-%d").setDaemon(true).build()
+    );
+  }
+
+  @Override
+  public Double apply(Genotype<EnumGene<SeatCore>> genotype) {
+    return fitness(genotype);
+  }
+
+  public double fitness(Genotype<EnumGene<SeatCore>> genotype) {
+    Double score = prefetched.asMap().remove(genotype);
+    if (score != null) {
+      return score;
+    }
+    return evaluate(Collections.singletonList(compactGenotypes.encode(genotype)))[0];
+  }
+
+  /**
+   * Scores the genotypes in batches over the idle workers and keeps the scores for {@link #fitness}
+   */
+  public void prefetch(List<Genotype<EnumGene<SeatCore>>> genotypes) {
+    List<Future<?>> batches = new ArrayList<>();
+    for (int from = 0; from < genotypes.size(); from += batchSize) {
+      List<Genotype<EnumGene<SeatCore>>> batch = genotypes.subList(from, Math.min(from + batchSize, genotypes.size()));
+      batches.add(dispatcher.submit(() -> {
+        List<CompactAssignment> assignments = batch.stream()
+            .map(compactGenotypes::encode)
+            .collect(Collectors.toList());
+        double[] scores = evaluate(assignments);
+        for (int i = 0; i < scores.length; i++) {
+          prefetched.put(batch.get(i), scores[i]);
+        }
+      }));
+    }
+    batches.forEach(Futures::getUnchecked);
+  }
+
+  /**
+   * An alterer that changes nothing and prefetches the scores of the offspring that need one, add it
+   * after the engine's other alterers
+   */
+  public Alterer<EnumGene<SeatCore>, Double> batchEvaluator() {
+    return new BatchEvaluator();
+  }
+
+  public double[] evaluate(List<CompactAssignment> assignments) {
+    int[] encoded = codec.encode(assignments);
+    while (true) {
+      Transport transport = borrow();
+      boolean healthy = false;
+      try {
+        transport.send(Frame.of(Frame.Type.EVALUATE, encoded));
+        Frame result = transport.receive();
+        if (result.getType() == Frame.Type.FITNESS && result.getDoubles().length == assignments.size()) {
+          healthy = true;
+          return result.getDoubles();
+        }
+        LOG.warn("Unexpected {} reply from fitness worker {}, dropping it", result.getType(), transport);
+      } catch (IOException e) {
+        LOG.warn("Lost fitness worker {}, dropping it", transport, e);
+      } finally {
+        if (healthy) {
+          idle.add(transport);
+        } else {
+          drop(transport);
+        }
+      }
+    }
+  }
+
+  private Transport borrow() {
+    try {
+      while (true) {
+        if (live.get() == 0) {
+          throw new IllegalStateException("No fitness workers left");
+        }
+        Transport transport = idle.poll(WORKER_POLL_MILLIS, TimeUnit.MILLISECONDS);
+        if (transport != null) {
+          return transport;
+        }
+      }
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new IllegalStateException("Interrupted waiting for a fitness worker", e);
+    }
+  }
+
+  private void drop(Transport transport) {
+    LOG.warn("{} fitness workers left", live.decrementAndGet());
+    try {
+      transport.close();
+    } catch (IOException e) {
+      LOG.debug("Could not close fitness worker {}", transport, e);
+    }
+  }
+
+  @Override
+  public void close() {
+    dispatcher.shutdownNow();
+  }
+
+  private class BatchEvaluator implements Alterer<EnumGene<SeatCore>, Double> {
+    @Override
+    public AltererResult<EnumGene<SeatCore>, Double> alter(Seq<Phenotype<EnumGene<SeatCore>, Double>> population,
+                                                           long generation) {
+      List<Genotype<EnumGene<SeatCore>>> unevaluated = population.stream()
+          .filter(phenotype -> !phenotype.isEvaluated())
+          .map(Phenotype::getGenotype)
+          .collect(Collectors.toList());
+      prefetch(unevaluated);
+      return AltererResult.of(ISeq.of(population), 0);
+    }
+
+    @Override
+    public String toString() {
+      return "RemoteBatchEvaluator{batchSize=" + batchSize + "}";
+    }
+  }
+}
@@ -0,0 +1,100 @@
+package com.hubspot.seatsolver.distributed;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.net.SocketException;
+import java.util.List;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.hubspot.seatsolver.island.IslandEvolution;
+import com.hubspot.seatsolver.model.SeatCore;
+
+import io.jenetics.EnumGene;
+import io.jenetics.Genotype;
+
+/**
+ * Connects local islands with another process's in {@link com.hubspot.seatsolver.config.DistributedMode#ISLANDS}
+ * mode: our migrants are sent over the transport and a reader thread hands theirs to the islands.
+ */
+public class RemoteIslandLink {
+  private static final Logger LOG = LoggerFactory.getLogger(RemoteIslandLink.class);
+
+  private final Transport transport;
+  private final AssignmentCodec codec;
+  private final IslandEvolution evolution;
+  private final Thread reader;
+
+  private volatile boolean open = true;
+
+  public RemoteIslandLink(Transport transport, AssignmentCodec codec, IslandEvolution evolution) {
+    this.transport = transport;
+    this.codec = codec;
+    this.evolution = evolution;
+    this.reader = new Thread(this::read, "island-link-" + transport);
+    reader.setDaemon(true);
+  }
+
+  public void start() {
+    evolution.addRemotePeer(this::send);
+    reader.start();
+  }
+
+  private void send(List<Genotype<EnumGene<SeatCore>>> migrants) {
+    if (!open) {
+      return;
+    }
+
+    try {
+      transport.send(Frame.of(Frame.Type.MIGRANTS, codec.encodeGenotypes(migrants)));
+    } catch (IOException e) {
+      LOG.warn("Could not send migrants to {}, dropping the link", transport, e);
+      open = false;
+    }
+  }
+
+  private void read() {
+    try {
+      while (open) {
+        Frame frame = transport.receive();
+        switch (frame.getType()) {
+          case MIGRANTS:
+            evolution.immigrate(codec.decodeGenotypes(frame.getInts()));
+            break;
+          case SHUTDOWN:
+            LOG.info("{} finished", transport);
+            open = false;
+            break;
+          default:
+            throw new IllegalStateException("Unexpected " + frame.getType() + " frame from " + transport);
+        }
+      }
+    } catch (EOFException | SocketException e) {
+      LOG.info("{} disconnected", transport);
+    } catch (IOException e) {
+      LOG.warn("Failed reading from {}", transport, e);
+    } finally {
+      open = false;
+    }
+  }
+
+  /**
+   * Tells the other side we're done, it keeps evolving on its own
+   */
+  public void close() {
+    if (open) {
+      open = false;
+      try {
+        transport.send(Frame.of(Frame.Type.SHUTDOWN));
+      } catch (IOException e) {
+        LOG.debug("Could not send shutdown to {}", transport, e);
+      }
+    }
+    try {
+      transport.close();
+    } catch (IOException e) {
+      LOG.debug("Could not close {}", transport, e);
+    }
+  }
+}
@@ -0,0 +1,78 @@
+package com.hubspot.seatsolver.distributed;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.net.Socket;
+
+/**
+ * Frames over a socket as big endian type ordinal, int count, ints, double count, doubles
+ */
+public class SocketTransport implements Transport {
+  private static final Frame.Type[] TYPES = Frame.Type.values();
+  // far past a batch of assignments for any floor, a larger count means a corrupt stream
+  private static final int MAX_VALUES = 1 << 24;
+
+  private final Socket socket;
+  private final DataInputStream in;
+  private final DataOutputStream out;
+
+  public SocketTransport(Socket socket) throws IOException {
+    socket.setTcpNoDelay(true);
+    this.socket = socket;
+    this.in = new DataInputStream(new BufferedInputStream(socket.getInputStream()));
+    this.out = new DataOutputStream(new BufferedOutputStream(socket.getOutputStream()));
+  }
+
+  @Override
+  public synchronized void send(Frame frame) throws IOException {
+    out.writeInt(frame.getType().ordinal());
+    out.writeInt(frame.getInts().length);
+    for (int value : frame.getInts()) {
+      out.writeInt(value);
+    }
+    out.writeInt(frame.getDoubles().length);
+    for (double value : frame.getDoubles()) {
+      out.writeDouble(value);
+    }
+    out.flush();
+  }
+
+  @Override
+  public Frame receive() throws IOException {
+    int type = in.readInt();
+    if (type < 0 || type >= TYPES.length) {
+      throw new IOException("Unknown frame type " + type);
+    }
+
+    int[] ints = new int[readLength()];
+    for (int i = 0; i < ints.length; i++) {
+      ints[i] = in.readInt();
+    }
+    double[] doubles = new double[readLength()];
+    for (int i = 0; i < doubles.length; i++) {
+      doubles[i] = in.readDouble();
+    }
+    return new Frame(TYPES[type], ints, doubles);
+  }
+
+  private int readLength() throws IOException {
+    int length = in.readInt();
+    if (length < 0 || length > MAX_VALUES) {
+      throw new IOException("Bad frame length " + length);
+    }
+    return length;
+  }
+
+  @Override
+  public void close() throws IOException {
+    socket.close();
+  }
+
+  @Override
+  public String toString() {
+    return "SocketTransport{" + socket.getRemoteSocketAddress() + "}";
+  }
+}
@@ -0,0 +1,18 @@
+package com.hubspot.seatsolver.distributed;
+
+import java.io.Closeable;
+import java.io.IOException;
+
+/**
+ * A connection between two solver processes. Sends may come from several threads, receives from one.
+ */
+public interface Transport extends Closeable {
+  void send(Frame frame) throws IOException;
+
+  /**
+   * Blocks until the next frame arrives
+   *
+   * @throws java.io.EOFException once the other side has closed the connection
+   */
+  Frame receive() throws IOException;
+}
@@ -0,0 +1,21 @@
+package com.hubspot.seatsolver.distributed;
+
+import java.io.IOException;
+import java.util.List;
+
+import com.hubspot.seatsolver.config.DistributedConfig;
+
+/**
+ * Opens the connections of a multi-process solve
+ */
+public interface TransportProvider {
+  /**
+   * Coordinator side, blocks until {@link DistributedConfig#workerCount()} workers have connected
+   */
+  List<Transport> accept(DistributedConfig config) throws IOException;
+
+  /**
+   * Worker side, retries until the coordinator is listening or the connect timeout passes
+   */
+  Transport connect(DistributedConfig config) throws IOException;
+}
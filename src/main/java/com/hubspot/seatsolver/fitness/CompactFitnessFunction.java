@@ -0,0 +1,137 @@
+package com.hubspot.seatsolver.fitness;
+
+import java.util.List;
+import java.util.function.IntPredicate;
+
+import com.google.inject.Inject;
+import com.google.inject.Singleton;
+import com.hubspot.seatsolver.config.SeatSolverConfig;
+import com.hubspot.seatsolver.config.SeatSolverParams;
+import com.hubspot.seatsolver.genetic.TeamCostCache;
+import com.hubspot.seatsolver.genetic.TeamCosts;
+import com.hubspot.seatsolver.genetic.compact.CompactAssignment;
+import com.hubspot.seatsolver.grid.SeatGrid;
+import com.hubspot.seatsolver.model.Point;
+import com.hubspot.seatsolver.model.TeamCore;
+import com.hubspot.seatsolver.utils.PointUtils;
+
+/**
+ * Scores {@link CompactAssignment}s with the same cost terms as {@link SeatFitnessFunction}. Per-team
+ * costs come from the shared {@link TeamCostCache}, so unchanged teams are lookups rather than rescores.
+ */
+@Singleton
+public class CompactFitnessFunction {
+  private final SeatSolverParams params;
+  private final TeamIndex teamIndex;
+  private final List<TeamCore> teams;
+  private final SeatGrid grid;
+  private final TeamCostCache costCache;
+  private final ThreadLocal<Scratch> scratch;
+
+  @Inject
+  public CompactFitnessFunction(SeatSolverConfig config,
+                                TeamIndex teamIndex,
+                                List<TeamCore> teams,
+                                SeatGrid grid,
+                                TeamCostCache costCache) {
+    this.params = config.seatSolverParams();
+    this.teamIndex = teamIndex;
+    this.teams = teams;
+    this.grid = grid;
+    this.costCache = costCache;
+    this.scratch = ThreadLocal.withInitial(() -> new Scratch(teamIndex.size()));
+  }
+
+  public double fitness(CompactAssignment assignment) {
+    Scratch s = scratch.get();
+    s.reset();
+    s.membership.assignment = assignment;
+
+    int[] teamSeats = assignment.getTeamSeats();
+    for (int team = 0; team < assignment.teamCount(); team++) {
+      int start = assignment.teamStart(team);
+      int end = start + assignment.teamSize(team);
+      if (start == end) {
+        s.intraTeam[team] = 0;
+        s.centroids[team] = null;
+        continue;
+      }
+
+      s.membership.team = team;
+      TeamCosts costs = costCache.get(grid, teams.get(team), teamSeats, start, end, s.membership);
+      s.intraTeam[team] = costs.getTeamDistanceCost();
+      s.centroids[team] = costs.getCentroid();
+      s.intraTeamSums.add(costs.getTeamDistanceCost());
+      s.pinnedSums.add(costs.getPinnedDistanceCost());
+      s.squarenessSums.add(costs.getSquarenessScore());
+    }
+    s.membership.assignment = null;
+
+    for (int team = 0; team < teamIndex.size(); team++) {
+      Point centroid = s.centroids[team];
+      if (centroid == null) {
+        continue;
+      }
+
+      int[] partners = teamIndex.partners(team);
+      double[] weights = teamIndex.weights(team);
+      for (int slot = 0; slot < partners.length; slot++) {
+        if (partners[slot] >= 0 && s.centroids[partners[slot]] != null) {
+          s.adjacencySums.add(Math.abs(PointUtils.distance(centroid, s.centroids[partners[slot]])) * weights[slot]);
+        }
+      }
+    }
+
+    double intraTeamScaled;
+    if (params.intraTeamPercentile() > 0) {
+      s.intraTeamSample.reset();
+      for (double intraTeamCost : s.intraTeam) {
+        s.intraTeamSample.accept(intraTeamCost);
+      }
+      intraTeamScaled = s.intraTeamSample.getApproxPercentile(params.intraTeamPercentile());
+    } else {
+      intraTeamScaled = s.intraTeamSums.getSum() * s.intraTeamSums.getStandardDeviation();
+    }
+
+    double adjacencyScaled = s.adjacencySums.getSum() * s.adjacencySums.getStandardDeviation();
+    double squarenessScaled = s.squarenessSums.getSum() * s.squarenessSums.getStandardDeviation();
+    double pinnedScale = s.pinnedSums.getSum();
+    return SeatFitnessFunction.combine(params, intraTeamScaled, adjacencyScaled, squarenessScaled, pinnedScale);
+  }
+
+  private static final class Scratch {
+    private final double[] intraTeam;
+    private final Point[] centroids;
+    private final CostSums intraTeamSums = new CostSums();
+    private final CostSums pinnedSums = new CostSums();
+    private final CostSums squarenessSums = new CostSums();
+    private final CostSums adjacencySums = new CostSums();
+    private final ReservoirSample intraTeamSample = new ReservoirSample();
+    private final Membership membership = new Membership();
+
+    private Scratch(int teams) {
+      this.intraTeam = new double[teams];
+      this.centroids = new Point[teams];
+    }
+
+    private void reset() {
+      intraTeamSums.reset();
+      pinnedSums.reset();
+      squarenessSums.reset();
+      adjacencySums.reset();
+    }
+  }
+
+  /**
+   * Whether a seat belongs to the team being scored, reused across teams and calls instead of a lambda per team
+   */
+  private static final class Membership implements IntPredicate {
+    private CompactAssignment assignment;
+    private int team;
+
+    @Override
+    public boolean test(int seat) {
+      return assignment.teamOf(seat) == team;
+    }
+  }
+}
@@ -0,0 +1,61 @@
+package com.hubspot.seatsolver.fitness;
+
+/**
+ * Running count/sum/sum of squares of non-zero cost terms. Mirrors the parts of
+ * {@link com.hubspot.seatsolver.utils.DoubleStatistics} that fitness uses, but
+ * also supports removing a term so it can be updated incrementally.
+ */
+final class CostSums {
+  private long count;
+  private double sum;
+  private double sumOfSquares;
+
+  CostSums() {
+  }
+
+  private CostSums(CostSums other) {
+    this.count = other.count;
+    this.sum = other.sum;
+    this.sumOfSquares = other.sumOfSquares;
+  }
+
+  void add(double value) {
+    if (value == 0) {
+      return;
+    }
+    count++;
+    sum += value;
+    sumOfSquares += value * value;
+  }
+
+  void remove(double value) {
+    if (value == 0) {
+      return;
+    }
+    count--;
+    sum -= value;
+    sumOfSquares -= value * value;
+  }
+
+  void reset() {
+    count = 0;
+    sum = 0;
+    sumOfSquares = 0;
+  }
+
+  CostSums copy() {
+    return new CostSums(this);
+  }
+
+  double getSum() {
+    return sum;
+  }
+
+  double getStandardDeviation() {
+    if (count <= 0) {
+      return 0;
+    }
+    double average = sum / count;
+    return Math.sqrt((sumOfSquares - count * average * average) / (count - 1));
+  }
+}
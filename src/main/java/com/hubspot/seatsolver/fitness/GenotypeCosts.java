@@ -0,0 +1,145 @@
+package com.hubspot.seatsolver.fitness;
+
+import com.hubspot.seatsolver.genetic.TeamChromosome;
+import com.hubspot.seatsolver.utils.PointUtils;
+
+/**
+ * Per-team cost terms of a single genotype, indexed by {@link TeamIndex}, plus their running sums.
+ *
+ * Derived copies share adjacency rows with their parent until a row is rewritten.
+ */
+class GenotypeCosts {
+  private final TeamIndex teamIndex;
+  private final TeamChromosome[] chromosomes;
+  private final double[] intraTeam;
+  private final double[] pinned;
+  private final double[] squareness;
+  private final double[][] adjacency;
+  private final boolean[] ownedAdjacencyRows;
+
+  private final CostSums intraTeamSums;
+  private final CostSums pinnedSums;
+  private final CostSums squarenessSums;
+  private final CostSums adjacencySums;
+  private final int depth;
+
+  GenotypeCosts(TeamIndex teamIndex) {
+    int size = teamIndex.size();
+    this.teamIndex = teamIndex;
+    this.chromosomes = new TeamChromosome[size];
+    this.intraTeam = new double[size];
+    this.pinned = new double[size];
+    this.squareness = new double[size];
+    this.adjacency = new double[size][];
+    this.ownedAdjacencyRows = new boolean[size];
+    for (int team = 0; team < size; team++) {
+      adjacency[team] = new double[teamIndex.partners(team).length];
+      ownedAdjacencyRows[team] = true;
+    }
+    this.intraTeamSums = new CostSums();
+    this.pinnedSums = new CostSums();
+    this.squarenessSums = new CostSums();
+    this.adjacencySums = new CostSums();
+    this.depth = 0;
+  }
+
+  private GenotypeCosts(GenotypeCosts parent) {
+    this.teamIndex = parent.teamIndex;
+    this.chromosomes = parent.chromosomes.clone();
+    this.intraTeam = parent.intraTeam.clone();
+    this.pinned = parent.pinned.clone();
+    this.squareness = parent.squareness.clone();
+    this.adjacency = parent.adjacency.clone();
+    this.ownedAdjacencyRows = new boolean[adjacency.length];
+    this.intraTeamSums = parent.intraTeamSums.copy();
+    this.pinnedSums = parent.pinnedSums.copy();
+    this.squarenessSums = parent.squarenessSums.copy();
+    this.adjacencySums = parent.adjacencySums.copy();
+    this.depth = parent.depth + 1;
+  }
+
+  GenotypeCosts derive() {
+    return new GenotypeCosts(this);
+  }
+
+  int getDepth() {
+    return depth;
+  }
+
+  TeamChromosome getChromosome(int team) {
+    return chromosomes[team];
+  }
+
+  void setChromosome(int team, TeamChromosome chromosome) {
+    intraTeamSums.remove(intraTeam[team]);
+    pinnedSums.remove(pinned[team]);
+    squarenessSums.remove(squareness[team]);
+
+    chromosomes[team] = chromosome;
+    intraTeam[team] = chromosome.calculateTeamDistanceCost();
+    pinned[team] = chromosome.calculatePinnedDistanceCost();
+    squareness[team] = chromosome.squarenessScore();
+
+    intraTeamSums.add(intraTeam[team]);
+    pinnedSums.add(pinned[team]);
+    squarenessSums.add(squareness[team]);
+  }
+
+  /**
+   * Recompute the adjacency terms of the team itself and of every team that wants to sit near it
+   */
+  void updateAdjacencyAround(int team) {
+    for (int slot = 0; slot < adjacency[team].length; slot++) {
+      updateAdjacency(team, slot);
+    }
+
+    int[] wantedByTeam = teamIndex.wantedByTeam(team);
+    int[] wantedBySlot = teamIndex.wantedBySlot(team);
+    for (int i = 0; i < wantedByTeam.length; i++) {
+      updateAdjacency(wantedByTeam[i], wantedBySlot[i]);
+    }
+  }
+
+  private void updateAdjacency(int team, int slot) {
+    if (!ownedAdjacencyRows[team]) {
+      adjacency[team] = adjacency[team].clone();
+      ownedAdjacencyRows[team] = true;
+    }
+
+    adjacencySums.remove(adjacency[team][slot]);
+    double value = adjacencyCost(team, slot);
+    adjacency[team][slot] = value;
+    adjacencySums.add(value);
+  }
+
+  private double adjacencyCost(int team, int slot) {
+    TeamChromosome chromosome = chromosomes[team];
+    int partner = teamIndex.partners(team)[slot];
+    if (chromosome == null || partner < 0 || chromosomes[partner] == null) {
+      return 0;
+    }
+
+    return Math.abs(PointUtils.distance(chromosome.centroid(), chromosomes[partner].centroid())) *
+        teamIndex.weights(team)[slot];
+  }
+
+  double[] getIntraTeamCosts() {
+    return intraTeam;
+  }
+
+  CostSums getIntraTeamSums() {
+    return intraTeamSums;
+  }
+
+  CostSums getPinnedSums() {
+    return pinnedSums;
+  }
+
+  CostSums getSquarenessSums() {
+    return squarenessSums;
+  }
+
+  CostSums getAdjacencySums() {
+    return adjacencySums;
+  }
+}
@@ -0,0 +1,40 @@
+package com.hubspot.seatsolver.fitness;
+
+import java.math.RoundingMode;
+import java.util.Arrays;
+import java.util.concurrent.ThreadLocalRandom;
+
+import com.google.common.math.DoubleMath;
+
+/**
+ * Resettable equivalent of the percentile reservoir in {@link com.hubspot.seatsolver.utils.DoubleStatistics},
+ * so it can be reused across fitness calls.
+ */
+final class ReservoirSample {
+  private final double[] reservoir = new double[50];
+  private int count;
+
+  void reset() {
+    Arrays.fill(reservoir, 0);
+    count = 0;
+  }
+
+  void accept(double value) {
+    if (value == 0) {
+      return;
+    }
+    if (count < reservoir.length) {
+      reservoir[count] = value;
+    } else {
+      int j = ThreadLocalRandom.current().nextInt(count + 1);
+      if (j < reservoir.length) {
+        reservoir[j] = value;
+      }
+    }
+    count++;
+  }
+
+  double getApproxPercentile(double percentile) {
+    return reservoir[Math.min(reservoir.length - 1, DoubleMath.roundToInt(reservoir.length * percentile / 100., RoundingMode.HALF_EVEN))];
+  }
+}
@@ -0,0 +1,261 @@
+package com.hubspot.seatsolver.fitness;
+
+import java.util.Arrays;
+import java.util.Map;
+import java.util.stream.Collectors;
+import java.util.stream.DoubleStream;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.inject.Inject;
+import com.google.inject.Singleton;
+import com.hubspot.seatsolver.config.SeatSolverConfig;
+import com.hubspot.seatsolver.config.SeatSolverParams;
+import com.hubspot.seatsolver.genetic.EmptySeatChromosome;
+import com.hubspot.seatsolver.genetic.GenotypeLineage;
+import com.hubspot.seatsolver.genetic.TeamChromosome;
+import com.hubspot.seatsolver.model.SeatCore;
+import com.hubspot.seatsolver.utils.DoubleStatistics;
+import com.hubspot.seatsolver.utils.PointUtils;
+
+import io.jenetics.Chromosome;
+import io.jenetics.EnumGene;
+import io.jenetics.Genotype;
+
+/**
+ * Scores genotypes. Genotypes produced by our mutators are scored from their parent's cost terms,
+ * only the changed team chromosomes and the adjacency terms that reference them are recomputed.
+ *
+ * Apart from the cost record kept for each scored genotype, scoring does not allocate: scratch space
+ * and accumulators are reused per thread.
+ */
+@Singleton
+public class SeatFitnessFunction {
+  // Rescore from scratch every so often so floating point error from the running sums can't pile up
+  private static final int MAX_DELTA_DEPTH = 64;
+  // Past this fraction of changed teams a delta is no cheaper than a full rescore
+  private static final double MAX_DELTA_FRACTION = 0.25;
+
+  private final SeatSolverParams params;
+  private final TeamIndex teamIndex;
+  private final Cache<Genotype<EnumGene<SeatCore>>, GenotypeCosts> costsByGenotype;
+  private final ThreadLocal<Scratch> scratch;
+
+  @Inject
+  public SeatFitnessFunction(SeatSolverConfig config, TeamIndex teamIndex) {
+    this.params = config.seatSolverParams();
+    this.teamIndex = teamIndex;
+    this.costsByGenotype = CacheBuilder.newBuilder()
+        .weakKeys()
+        .build();
+    this.scratch = ThreadLocal.withInitial(() -> new Scratch(teamIndex.size()));
+  }
+
+  public double fitness(Genotype<EnumGene<SeatCore>> genotype) {
+    GenotypeCosts costs = deltaCosts(genotype);
+    if (costs == null) {
+      costs = fullCosts(genotype);
+    }
+
+    if (costs == null) {
+      // duplicate or unknown teams, these are never valid so skip the bookkeeping
+      return unindexedFitness(genotype);
+    }
+
+    costsByGenotype.put(genotype, costs);
+    return score(costs);
+  }
+
+  private GenotypeCosts deltaCosts(Genotype<EnumGene<SeatCore>> genotype) {
+    Genotype<EnumGene<SeatCore>> parent = GenotypeLineage.getParent(genotype);
+    if (parent == null) {
+      return null;
+    }
+
+    GenotypeCosts parentCosts = costsByGenotype.getIfPresent(parent);
+    if (parentCosts == null || parentCosts.getDepth() >= MAX_DELTA_DEPTH) {
+      return null;
+    }
+
+    Scratch scratch = this.scratch.get();
+    int[] changedTeams = scratch.changedTeams;
+    TeamChromosome[] changedChromosomes = scratch.changedChromosomes;
+    int maxChanged = changedTeams.length;
+    int stamp = scratch.nextStamp();
+    int changed = 0;
+    int teamChromosomes = 0;
+
+    try {
+      for (int i = 0; i < genotype.length(); i++) {
+        Chromosome<EnumGene<SeatCore>> chromosome = genotype.get(i);
+        if (!(chromosome instanceof TeamChromosome)) {
+          continue;
+        }
+
+        TeamChromosome teamChromosome = (TeamChromosome) chromosome;
+        int team = teamIndex.indexOf(teamChromosome.getTeam());
+        if (team < 0 || scratch.seen[team] == stamp) {
+          return null;
+        }
+        scratch.seen[team] = stamp;
+        teamChromosomes++;
+
+        if (parentCosts.getChromosome(team) == teamChromosome) {
+          continue;
+        }
+        if (changed == maxChanged) {
+          return null;
+        }
+        changedTeams[changed] = team;
+        changedChromosomes[changed] = teamChromosome;
+        changed++;
+      }
+
+      if (teamChromosomes != teamIndex.size()) {
+        return null;
+      }
+
+      GenotypeCosts costs = parentCosts.derive();
+      for (int i = 0; i < changed; i++) {
+        costs.setChromosome(changedTeams[i], changedChromosomes[i]);
+      }
+      for (int i = 0; i < changed; i++) {
+        costs.updateAdjacencyAround(changedTeams[i]);
+      }
+
+      return costs;
+    } finally {
+      // don't let the scratch space keep chromosomes reachable
+      Arrays.fill(changedChromosomes, 0, changed, null);
+    }
+  }
+
+  private GenotypeCosts fullCosts(Genotype<EnumGene<SeatCore>> genotype) {
+    GenotypeCosts costs = new GenotypeCosts(teamIndex);
+    for (int i = 0; i < genotype.length(); i++) {
+      Chromosome<EnumGene<SeatCore>> chromosome = genotype.get(i);
+      if (!(chromosome instanceof TeamChromosome)) {
+        continue;
+      }
+
+      TeamChromosome teamChromosome = (TeamChromosome) chromosome;
+      int team = teamIndex.indexOf(teamChromosome.getTeam());
+      if (team < 0 || costs.getChromosome(team) != null) {
+        return null;
+      }
+      costs.setChromosome(team, teamChromosome);
+    }
+
+    for (int team = 0; team < teamIndex.size(); team++) {
+      if (costs.getChromosome(team) != null) {
+        costs.updateAdjacencyAround(team);
+      }
+    }
+
+    return costs;
+  }
+
+  private double score(GenotypeCosts costs) {
+    double intraTeamScaled;
+    if (params.intraTeamPercentile() > 0) {
+      ReservoirSample intraTeamSample = scratch.get().intraTeamSample;
+      intraTeamSample.reset();
+      for (double intraTeamCost : costs.getIntraTeamCosts()) {
+        intraTeamSample.accept(intraTeamCost);
+      }
+      intraTeamScaled = intraTeamSample.getApproxPercentile(params.intraTeamPercentile());
+    } else {
+      CostSums intraTeamSums = costs.getIntraTeamSums();
+      intraTeamScaled = intraTeamSums.getSum() * intraTeamSums.getStandardDeviation();
+    }
+
+    CostSums adjacencySums = costs.getAdjacencySums();
+    CostSums squarenessSums = costs.getSquarenessSums();
+    double adjacencyScaled = adjacencySums.getSum() * adjacencySums.getStandardDeviation();
+    double squarenessScaled = squarenessSums.getSum() * squarenessSums.getStandardDeviation();
+    double pinnedScale = costs.getPinnedSums().getSum();
+    return combine(params, intraTeamScaled, adjacencyScaled, squarenessScaled, pinnedScale);
+  }
+
+  static double combine(SeatSolverParams params,
+                        double intraTeamScaled,
+                        double adjacencyScaled,
+                        double squarenessScaled,
+                        double pinnedScale) {
+    return params.intraTeamScoreWeight() * intraTeamScaled +
+        params.interTeamScoreWeight() * (adjacencyScaled + pinnedScale) +
+        params.intraTeamSquarenessWeight() * (squarenessScaled + pinnedScale);
+  }
+
+  /**
+   * Full fitness through maps and streams, only used for genotypes with duplicate or unknown teams
+   */
+  private double unindexedFitness(Genotype<EnumGene<SeatCore>> genotype) {
+    Map<String, TeamChromosome> chromosomeByTeamCore = genotype.stream()
+        .filter(c -> !(c instanceof EmptySeatChromosome))
+        .map(c -> ((TeamChromosome) c))
+        .collect(Collectors.toMap(c -> c.getTeam().id(), c -> c, (left, right) -> right));
+
+    DoubleStatistics intraTeamStats = new DoubleStatistics();
+    DoubleStatistics pinnedTeamStats = new DoubleStatistics();
+    DoubleStatistics squarenessStats = new DoubleStatistics();
+    DoubleStatistics adjacencyStats = new DoubleStatistics();
+
+    genotype.stream()
+        .filter(c -> !(c instanceof EmptySeatChromosome))
+        .forEach(genes -> {
+          TeamChromosome chromosome = ((TeamChromosome) genes);
+          intraTeamStats.accept(chromosome.calculateTeamDistanceCost());
+          pinnedTeamStats.accept(chromosome.calculatePinnedDistanceCost());
+          squarenessStats.accept(chromosome.squarenessScore());
+          adjacencyDists(chromosome, chromosomeByTeamCore).forEach(adjacencyStats);
+        });
+
+    double intraTeamScaled;
+    if (params.intraTeamPercentile() > 0) {
+      intraTeamScaled = intraTeamStats.getApproxPerentile(params.intraTeamPercentile());
+    } else {
+      intraTeamScaled = intraTeamStats.getSum() * intraTeamStats.getStandardDeviation();
+    }
+    double adjacencyScaled = adjacencyStats.getSum() * adjacencyStats.getStandardDeviation();
+    double squarenessScaled = squarenessStats.getSum() * squarenessStats.getStandardDeviation();
+    double pinnedScale = pinnedTeamStats.getSum();
+    return combine(params, intraTeamScaled, adjacencyScaled, squarenessScaled, pinnedScale);
+  }
+
+  private DoubleStream adjacencyDists(TeamChromosome chromosome,
+                                      Map<String, TeamChromosome> chromosomeByTeamCore) {
+    return chromosome.getTeam().wantsAdjacent().stream()
+        .mapToDouble(adj -> {
+          TeamChromosome other = chromosomeByTeamCore.get(adj.id());
+          if (other == null) {
+            return ((double) 0);
+          }
+          return Math.abs(PointUtils.distance(chromosome.centroid(), other.centroid())) * adj.effectiveWeight();
+        })
+        .filter(d -> d > 0);
+  }
+
+  private static final class Scratch {
+    private final int[] changedTeams;
+    private final TeamChromosome[] changedChromosomes;
+    private final int[] seen;
+    private final ReservoirSample intraTeamSample = new ReservoirSample();
+    private int stamp;
+
+    private Scratch(int teams) {
+      int maxChanged = (int) Math.ceil(teams * MAX_DELTA_FRACTION);
+      this.changedTeams = new int[maxChanged];
+      this.changedChromosomes = new TeamChromosome[maxChanged];
+      this.seen = new int[teams];
+    }
+
+    private int nextStamp() {
+      if (++stamp == Integer.MAX_VALUE) {
+        Arrays.fill(seen, 0);
+        stamp = 1;
+      }
+      return stamp;
+    }
+  }
+}
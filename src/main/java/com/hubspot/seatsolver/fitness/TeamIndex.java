@@ -0,0 +1,112 @@
+package com.hubspot.seatsolver.fitness;
+
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+import com.google.common.collect.ImmutableMap;
+import com.google.common.primitives.Ints;
+import com.google.inject.Inject;
+import com.google.inject.Singleton;
+import com.hubspot.seatsolver.model.Adjacency;
+import com.hubspot.seatsolver.model.TeamCore;
+
+/**
+ * Dense integer indexes for the team list and its wantsAdjacent graph, in both directions.
+ */
+@Singleton
+public class TeamIndex {
+  private final Map<String, Integer> indexById;
+  private final Map<TeamCore, Integer> indexByTeam;
+  private final int[][] partners;
+  private final double[][] weights;
+  private final int[][] wantedByTeam;
+  private final int[][] wantedBySlot;
+
+  @Inject
+  public TeamIndex(List<TeamCore> teams) {
+    ImmutableMap.Builder<String, Integer> indexBuilder = ImmutableMap.builder();
+    for (int i = 0; i < teams.size(); i++) {
+      indexBuilder.put(teams.get(i).id(), i);
+    }
+    this.indexById = indexBuilder.build();
+
+    // Chromosomes hold the same TeamCore instances as the team list, so look those up by identity
+    this.indexByTeam = new IdentityHashMap<>(teams.size());
+    for (int i = 0; i < teams.size(); i++) {
+      indexByTeam.put(teams.get(i), i);
+    }
+
+    int size = teams.size();
+    this.partners = new int[size][];
+    this.weights = new double[size][];
+
+    List<List<Integer>> wantedByTeams = new ArrayList<>(size);
+    List<List<Integer>> wantedBySlots = new ArrayList<>(size);
+    for (int i = 0; i < size; i++) {
+      wantedByTeams.add(new ArrayList<>());
+      wantedBySlots.add(new ArrayList<>());
+    }
+
+    for (int team = 0; team < size; team++) {
+      List<Adjacency> wantsAdjacent = teams.get(team).wantsAdjacent();
+      partners[team] = new int[wantsAdjacent.size()];
+      weights[team] = new double[wantsAdjacent.size()];
+      for (int slot = 0; slot < wantsAdjacent.size(); slot++) {
+        Adjacency adjacency = wantsAdjacent.get(slot);
+        int partner = indexById.getOrDefault(adjacency.id(), -1);
+        partners[team][slot] = partner;
+        weights[team][slot] = adjacency.effectiveWeight();
+        if (partner >= 0) {
+          wantedByTeams.get(partner).add(team);
+          wantedBySlots.get(partner).add(slot);
+        }
+      }
+    }
+
+    this.wantedByTeam = new int[size][];
+    this.wantedBySlot = new int[size][];
+    for (int i = 0; i < size; i++) {
+      wantedByTeam[i] = Ints.toArray(wantedByTeams.get(i));
+      wantedBySlot[i] = Ints.toArray(wantedBySlots.get(i));
+    }
+  }
+
+  public int size() {
+    return partners.length;
+  }
+
+  /**
+   * @return the index of the team, or -1 if it is not part of the team list
+   */
+  public int indexOf(TeamCore team) {
+    Integer index = indexByTeam.get(team);
+    if (index != null) {
+      return index;
+    }
+    return indexById.getOrDefault(team.id(), -1);
+  }
+
+  /**
+   * Teams the given team wants to sit near, one entry per wantsAdjacent slot (-1 for unknown teams)
+   */
+  public int[] partners(int team) {
+    return partners[team];
+  }
+
+  public double[] weights(int team) {
+    return weights[team];
+  }
+
+  /**
+   * Teams that list the given team in their wantsAdjacent, paired with {@link #wantedBySlot(int)}
+   */
+  public int[] wantedByTeam(int team) {
+    return wantedByTeam[team];
+  }
+
+  public int[] wantedBySlot(int team) {
+    return wantedBySlot[team];
+  }
+}
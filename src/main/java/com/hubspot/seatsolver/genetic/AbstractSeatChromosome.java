@@ -1,5 +1,7 @@
 package com.hubspot.seatsolver.genetic;
 
+import java.util.BitSet;
+
 import com.hubspot.seatsolver.model.SeatCore;
 
 import io.jenetics.AbstractChromosome;
@@ -15,4 +17,9 @@ public abstract class AbstractSeatChromosome extends AbstractChromosome<EnumGene
   public abstract String getIdentifier();
 
   public abstract AbstractSeatChromosome newSeatChromosome(ISeq<EnumGene<SeatCore>> genes);
+
+  /**
+   * The allele indexes of this chromosome's seats, do not modify
+   */
+  abstract BitSet usedSeatIndexes();
 }
@@ -2,6 +2,7 @@ package com.hubspot.seatsolver.genetic;
 
 import java.util.BitSet;
 import java.util.Optional;
+import java.util.concurrent.atomic.AtomicReference;
 
 import com.google.common.base.MoreObjects;
 import com.hubspot.seatsolver.model.SeatCore;
@@ -13,6 +14,7 @@ import io.jenetics.util.MSeq;
 
 public class EmptySeatChromosome extends AbstractSeatChromosome {
   private final ISeq<SeatCore> allSeats;
+  private final AtomicReference<BitSet> usedSeatIndexes = new AtomicReference<>();
 
   public EmptySeatChromosome(ISeq<SeatCore> allSeats,
                              BitSet availableSeatIndices) {
@@ -66,6 +68,19 @@ public class EmptySeatChromosome extends AbstractSeatChromosome {
     return new EmptySeatChromosome(allSeats, new BitSet(0));
   }
 
+  @Override
+  BitSet usedSeatIndexes() {
+    BitSet used = usedSeatIndexes.get();
+    if (used == null) {
+      used = new BitSet(allSeats.size());
+      for (int i = 0; i < length(); i++) {
+        used.set(getGene(i).getAlleleIndex());
+      }
+      usedSeatIndexes.set(used);
+    }
+    return used;
+  }
+
   @Override
   public String toString() {
     return MoreObjects.toStringHelper(this)
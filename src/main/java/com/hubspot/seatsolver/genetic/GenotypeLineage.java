@@ -0,0 +1,47 @@
+package com.hubspot.seatsolver.genetic;
+
+import java.util.Optional;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.hubspot.seatsolver.model.SeatCore;
+
+import io.jenetics.Chromosome;
+import io.jenetics.EnumGene;
+import io.jenetics.Genotype;
+
+/**
+ * Remembers which genotype an altered genotype was derived from, so that per-genotype
+ * state (costs, indexes) can be carried over and patched instead of rebuilt.
+ *
+ * Both sides are weakly referenced, a lineage entry never keeps a genotype alive.
+ */
+public final class GenotypeLineage {
+  private static final Cache<Genotype<EnumGene<SeatCore>>, Genotype<EnumGene<SeatCore>>> PARENTS = CacheBuilder.newBuilder()
+      .weakKeys()
+      .weakValues()
+      .build();
+
+  private GenotypeLineage() {
+  }
+
+  public static Genotype<EnumGene<SeatCore>> derive(Genotype<EnumGene<SeatCore>> parent,
+                                                    Iterable<? extends Chromosome<EnumGene<SeatCore>>> chromosomes) {
+    Genotype<EnumGene<SeatCore>> child = Genotype.of(chromosomes);
+    PARENTS.put(child, parent);
+    return child;
+  }
+
+  public static Optional<Genotype<EnumGene<SeatCore>>> parentOf(Genotype<EnumGene<SeatCore>> child) {
+    return Optional.ofNullable(getParent(child));
+  }
+
+  /**
+   * Allocation free variant of {@link #parentOf(Genotype)} for the fitness hot path
+   *
+   * @return the parent, or null if unknown
+   */
+  public static Genotype<EnumGene<SeatCore>> getParent(Genotype<EnumGene<SeatCore>> child) {
+    return PARENTS.getIfPresent(child);
+  }
+}
@@ -43,6 +43,7 @@ public class GreedySeatGenotypeFactory implements Factory<Genotype<EnumGene<Seat
   private final Map<SeatCore, Integer> seatIndex;
   private final List<TeamCore> teams;
   private final SeatGrid grid;
+  private final TeamCostCache costCache;
 
   private final List<SeatCore> seatsByAdjacencyCount;
   private final Map<String, TeamCore> teamsById;
@@ -51,7 +52,8 @@ public class GreedySeatGenotypeFactory implements Factory<Genotype<EnumGene<Seat
   @Inject
   public GreedySeatGenotypeFactory(ISeq<SeatCore> seats,
                                    List<TeamCore> teams,
-                                   SeatGrid grid) {
+                                   SeatGrid grid,
+                                   TeamCostCache costCache) {
     this.seats = seats;
     this.seatIndex = new IdentityHashMap<>(seats.size());
     for (int i = 0; i < seats.size(); ++i) {
@@ -59,8 +61,9 @@ public class GreedySeatGenotypeFactory implements Factory<Genotype<EnumGene<Seat
     }
     this.teams = teams;
     this.grid = grid;
+    this.costCache = costCache;
     this.seatsByAdjacencyCount = seats.stream()
-        .sorted(Comparator.comparing(seatCore -> grid.getAdjacent(seatCore).size()))
+        .sorted(Comparator.comparingInt(seatCore -> grid.getAdjacentCount(grid.indexOf(seatCore))))
         .collect(Collectors.toList());
     this.teamsById = Maps.uniqueIndex(teams, TeamCore::id);
 
@@ -82,18 +85,17 @@ public class GreedySeatGenotypeFactory implements Factory<Genotype<EnumGene<Seat
     Stopwatch stopwatch = Stopwatch.createStarted();
     LOG.debug("Starting new genotype generation");
 
-    BitSet availableSeats = new BitSet(seats.size());
-    availableSeats.set(0, seats.size());
+    SeatAvailability availableSeats = SeatAvailability.all(seats.size());
 
     List<Chromosome<EnumGene<SeatCore>>> chromosomes = assignTeams(availableSeats);
 
-    EmptySeatChromosome.create(seats, availableSeats).ifPresent(chromosomes::add);
+    EmptySeatChromosome.create(seats, availableSeats.bits()).ifPresent(chromosomes::add);
 
     LOG.debug("Finished new genotype generation in {}ns", stopwatch.elapsed(TimeUnit.NANOSECONDS));
     return Genotype.of(chromosomes);
   }
 
-  private List<Chromosome<EnumGene<SeatCore>>> assignTeams(BitSet availableSeats) {
+  private List<Chromosome<EnumGene<SeatCore>>> assignTeams(SeatAvailability availableSeats) {
     // TODO: make this number configurable
     List<TeamCore> startingTeams = teams.stream()
         .sorted(Comparator.comparing(TeamCore::numMembers).reversed())
@@ -115,12 +117,13 @@ public class GreedySeatGenotypeFactory implements Factory<Genotype<EnumGene<Seat
     for (TeamCore team : teams) {
       if (!placedTeamIds.contains(team.id())) {
         BitSet selected = TeamChromosome.selectSeatBlock(grid, seats, seatIndex, availableSeats, team.numMembers());
-        availableSeats.andNot(selected);
+        availableSeats.removeAll(selected);
 
         finalChromosomes.add(new TeamChromosome(
             grid,
             seats,
             seatIndex,
+            costCache,
             selected,
             team));
       }
@@ -132,11 +135,11 @@ public class GreedySeatGenotypeFactory implements Factory<Genotype<EnumGene<Seat
   }
 
   private List<TeamChromosome> assignStartingTeam(TeamCore startingTeam,
-                                                  BitSet availableSeats,
+                                                  SeatAvailability availableSeats,
                                                   Set<String> placedTeamIds) {
     for (int i = 0; i < MAX_TEAM_TRIES; i++) {
       SeatCore startingSeat = seatsByAdjacencyCount.stream()
-          .filter(seatCore -> availableSeats.get(seatIndex.get(seatCore)))
+          .filter(seatCore -> availableSeats.isAvailable(seatIndex.get(seatCore)))
           .limit(10)
           .sorted(Comparator.comparing(ignored -> ThreadLocalRandom.current().nextBoolean()))
           .findFirst()
@@ -144,18 +147,19 @@ public class GreedySeatGenotypeFactory implements Factory<Genotype<EnumGene<Seat
 
       int startIdx = seatIndex.get(startingSeat);
 
-      BitSet selected = TeamChromosome.selectBlock(startIdx, grid, seats, seatIndex, availableSeats, startingTeam.numMembers());
+      BitSet selected = TeamChromosome.selectBlock(startIdx, grid, seats, seatIndex, availableSeats.bits(), startingTeam.numMembers());
       if (selected.cardinality() != startingTeam.numMembers()) {
         continue;
       }
 
       // Remove from available set
-      availableSeats.andNot(selected);
+      availableSeats.removeAll(selected);
 
       TeamChromosome startChromosome = new TeamChromosome(
           grid,
           seats,
           seatIndex,
+          costCache,
           selected,
           startingTeam);
 
@@ -180,8 +184,8 @@ public class GreedySeatGenotypeFactory implements Factory<Genotype<EnumGene<Seat
 
   private Optional<TeamChromosome> chromosomeForTeamCore(BitSet adjacentTo,
                                                          TeamCore team,
-                                                         BitSet availableSeats) {
-    OptionalInt maybeAdjacentIdx = TeamChromosome.selectAdjacent(seats, seatIndex, adjacentTo, availableSeats, grid);
+                                                         SeatAvailability availableSeats) {
+    OptionalInt maybeAdjacentIdx = TeamChromosome.selectAdjacent(seats, seatIndex, adjacentTo, availableSeats.bits(), grid);
     if (!maybeAdjacentIdx.isPresent()) {
       return Optional.empty();
     }
@@ -192,7 +196,7 @@ public class GreedySeatGenotypeFactory implements Factory<Genotype<EnumGene<Seat
         grid,
         seats,
         seatIndex,
-        availableSeats,
+        availableSeats.bits(),
         team.numMembers()
     );
 
@@ -201,12 +205,13 @@ public class GreedySeatGenotypeFactory implements Factory<Genotype<EnumGene<Seat
     }
 
     // Remove from available set
-    availableSeats.andNot(selected);
+    availableSeats.removeAll(selected);
 
     return Optional.of(new TeamChromosome(
         grid,
         seats,
         seatIndex,
+        costCache,
         selected,
         team));
   }
@@ -0,0 +1,121 @@
+package com.hubspot.seatsolver.genetic;
+
+import java.util.BitSet;
+import java.util.Random;
+
+/**
+ * The seats still free while a genotype is built. Alongside the bits it keeps a Fenwick tree over the
+ * per-word seat counts, so picking a uniformly random free seat is O(log n) however full the floor is.
+ */
+public class SeatAvailability {
+  private final int size;
+  private final BitSet bits;
+  private final long[] words;
+  // 1-based Fenwick tree over Long.bitCount(words[i])
+  private final int[] tree;
+  private int count;
+
+  private SeatAvailability(int size, BitSet bits) {
+    this.size = size;
+    this.bits = bits;
+    this.words = new long[(size + 63) >>> 6];
+    long[] source = bits.toLongArray();
+    System.arraycopy(source, 0, words, 0, Math.min(source.length, words.length));
+
+    this.tree = new int[words.length + 1];
+    for (int i = 0; i < words.length; i++) {
+      int wordCount = Long.bitCount(words[i]);
+      count += wordCount;
+      tree[i + 1] += wordCount;
+      int parent = (i + 1) + ((i + 1) & -(i + 1));
+      if (parent <= words.length) {
+        tree[parent] += tree[i + 1];
+      }
+    }
+  }
+
+  public static SeatAvailability all(int size) {
+    BitSet bits = new BitSet(size);
+    bits.set(0, size);
+    return new SeatAvailability(size, bits);
+  }
+
+  /**
+   * Takes ownership of the bits, which must not be changed except through this availability afterwards
+   */
+  public static SeatAvailability of(int size, BitSet bits) {
+    return new SeatAvailability(size, bits);
+  }
+
+  /**
+   * @return a live view of the available seats. Do not modify.
+   */
+  public BitSet bits() {
+    return bits;
+  }
+
+  public int size() {
+    return size;
+  }
+
+  public int count() {
+    return count;
+  }
+
+  public boolean isAvailable(int seat) {
+    return bits.get(seat);
+  }
+
+  public void remove(int seat) {
+    int word = seat >>> 6;
+    long mask = 1L << seat;
+    if ((words[word] & mask) == 0) {
+      return;
+    }
+
+    words[word] &= ~mask;
+    bits.clear(seat);
+    count--;
+    for (int i = word + 1; i < tree.length; i += i & -i) {
+      tree[i]--;
+    }
+  }
+
+  public void removeAll(BitSet seats) {
+    for (int i = seats.nextSetBit(0); i >= 0; i = seats.nextSetBit(i + 1)) {
+      remove(i);
+    }
+  }
+
+  /**
+   * @return the available seat with the given rank in seat order, for 0 <= rank < count()
+   */
+  public int select(int rank) {
+    if (rank < 0 || rank >= count) {
+      throw new IndexOutOfBoundsException("Rank " + rank + " out of " + count + " available seats");
+    }
+
+    int word = 0;
+    int remaining = rank;
+    for (int step = Integer.highestOneBit(words.length); step > 0; step >>>= 1) {
+      int next = word + step;
+      if (next <= words.length && tree[next] <= remaining) {
+        word = next;
+        remaining -= tree[next];
+      }
+    }
+
+    long bitsInWord = words[word];
+    for (int i = 0; i < remaining; i++) {
+      bitsInWord &= bitsInWord - 1;
+    }
+    return (word << 6) + Long.numberOfTrailingZeros(bitsInWord);
+  }
+
+  /**
+   * @return a uniformly random available seat, or -1 if there are none
+   */
+  public int random(Random random) {
+    return count == 0 ? -1 : select(random.nextInt(count));
+  }
+}
@@ -0,0 +1,182 @@
+package com.hubspot.seatsolver.genetic;
+
+import java.util.Arrays;
+import java.util.BitSet;
+
+import com.hubspot.seatsolver.grid.SeatDistances;
+import com.hubspot.seatsolver.grid.SeatGrid;
+
+/**
+ * Grows a seat block one seat at a time, always taking the available neighbor of the block whose
+ * furthest distance to the block is smallest (ties to the lowest seat index), the same pick
+ * {@link TeamChromosome#selectAdjacent} makes.
+ *
+ * Frontier seats sit in a heap keyed by their max distance to the block as of the last time they were
+ * looked at. Adding a seat can only raise keys, so a popped seat is brought up to date against the
+ * seats added since: if its key held it is the next pick, otherwise it goes back into the heap.
+ * Blocks covered by the grid's {@link SeatBlockLibrary} are looked up instead of grown.
+ */
+final class SeatBlockGrower {
+  private static final ThreadLocal<SeatBlockGrower> GROWERS = ThreadLocal.withInitial(SeatBlockGrower::new);
+
+  private double[] maxDistance = new double[0];
+  // how many block seats maxDistance accounts for
+  private int[] accounted = new int[0];
+  private int[] seen = new int[0];
+  private int stamp;
+  private int[] heap = new int[0];
+  private int heapSize;
+  private int[] block = new int[0];
+  private int blockSize;
+
+  private SeatBlockGrower() {
+  }
+
+  /**
+   * @return the block grown from start, stopping at size seats, after maxAdded seats, or when no
+   * available seat borders it
+   */
+  static BitSet grow(SeatGrid grid, int start, BitSet availableSeats, int size, int maxAdded) {
+    SeatBlockLibrary library = SeatBlockLibrary.forGrid(grid);
+    if (library != null) {
+      BitSet selected = library.select(start, availableSeats, size, maxAdded);
+      if (selected != null) {
+        return selected;
+      }
+    }
+
+    SeatBlockGrower grower = GROWERS.get();
+    grower.run(grid, start, availableSeats, size, maxAdded);
+    BitSet selected = new BitSet(grid.size());
+    for (int i = 0; i < grower.blockSize; i++) {
+      selected.set(grower.block[i]);
+    }
+    return selected;
+  }
+
+  /**
+   * @return the seats of the grown block in the order they were added
+   */
+  static int[] order(SeatGrid grid, int start, BitSet availableSeats, int size, int maxAdded) {
+    SeatBlockGrower grower = GROWERS.get();
+    grower.run(grid, start, availableSeats, size, maxAdded);
+    return Arrays.copyOf(grower.block, grower.blockSize);
+  }
+
+  private void run(SeatGrid grid, int start, BitSet availableSeats, int size, int maxAdded) {
+    reset(grid.size());
+
+    SeatDistances distances = grid.getDistances();
+    int[] offsets = grid.getAdjacencyOffsets();
+    int[] neighbors = grid.getAdjacencyNeighbors();
+
+    seen[start] = stamp;
+    block[blockSize++] = start;
+    addFrontier(start, offsets, neighbors, availableSeats, distances);
+
+    for (int added = 0; blockSize < size && added < maxAdded; added++) {
+      int next = poll(distances);
+      if (next < 0) {
+        break;
+      }
+
+      block[blockSize++] = next;
+      addFrontier(next, offsets, neighbors, availableSeats, distances);
+    }
+  }
+
+  private void reset(int seats) {
+    if (seen.length < seats) {
+      maxDistance = new double[seats];
+      accounted = new int[seats];
+      seen = new int[seats];
+      heap = new int[seats];
+      block = new int[seats];
+      stamp = 0;
+    }
+    if (++stamp == 0) {
+      Arrays.fill(seen, 0);
+      stamp = 1;
+    }
+    heapSize = 0;
+    blockSize = 0;
+  }
+
+  private void addFrontier(int seat, int[] offsets, int[] neighbors, BitSet availableSeats, SeatDistances distances) {
+    for (int i = offsets[seat]; i < offsets[seat + 1]; i++) {
+      int candidate = neighbors[i];
+      if (seen[candidate] == stamp || !availableSeats.get(candidate)) {
+        continue;
+      }
+
+      seen[candidate] = stamp;
+      double distance = 0;
+      for (int j = 0; j < blockSize; j++) {
+        distance = Math.max(distances.distance(candidate, block[j]), distance);
+      }
+      maxDistance[candidate] = distance;
+      accounted[candidate] = blockSize;
+      push(candidate);
+    }
+  }
+
+  private int poll(SeatDistances distances) {
+    while (heapSize > 0) {
+      int candidate = heap[0];
+      double distance = maxDistance[candidate];
+      for (int j = accounted[candidate]; j < blockSize; j++) {
+        distance = Math.max(distances.distance(candidate, block[j]), distance);
+      }
+      accounted[candidate] = blockSize;
+
+      if (distance == maxDistance[candidate]) {
+        heap[0] = heap[--heapSize];
+        siftDown(0);
+        return candidate;
+      }
+
+      maxDistance[candidate] = distance;
+      siftDown(0);
+    }
+    return -1;
+  }
+
+  private boolean before(int a, int b) {
+    return maxDistance[a] < maxDistance[b] || (maxDistance[a] == maxDistance[b] && a < b);
+  }
+
+  private void push(int seat) {
+    int i = heapSize++;
+    while (i > 0) {
+      int parent = (i - 1) >>> 1;
+      if (!before(seat, heap[parent])) {
+        break;
+      }
+      heap[i] = heap[parent];
+      i = parent;
+    }
+    heap[i] = seat;
+  }
+
+  private void siftDown(int i) {
+    if (heapSize == 0) {
+      return;
+    }
+    int seat = heap[i];
+    while (true) {
+      int child = 2 * i + 1;
+      if (child >= heapSize) {
+        break;
+      }
+      if (child + 1 < heapSize && before(heap[child + 1], heap[child])) {
+        child++;
+      }
+      if (!before(heap[child], seat)) {
+        break;
+      }
+      heap[i] = heap[child];
+      i = child;
+    }
+    heap[i] = seat;
+  }
+}
@@ -0,0 +1,92 @@
+package com.hubspot.seatsolver.genetic;
+
+import java.util.BitSet;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.google.common.base.Stopwatch;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.inject.Inject;
+import com.google.inject.Singleton;
+import com.hubspot.seatsolver.grid.SeatGrid;
+import com.hubspot.seatsolver.model.TeamCore;
+
+/**
+ * The block {@link SeatBlockGrower} grows from each seat on an empty floor, up to the largest team size.
+ *
+ * The grower is greedy and deterministic, so the block of k seats from a start is the first k seats of
+ * its order here, and when all of those are still available the grower would pick exactly them on a
+ * partly filled floor too. Growing a block is then mostly a lookup, with the grower as the fallback.
+ * Built in parallel on injection and registered against its grid for the static block selection paths.
+ */
+@Singleton
+public class SeatBlockLibrary {
+  private static final Logger LOG = LoggerFactory.getLogger(SeatBlockLibrary.class);
+
+  private static final Cache<SeatGrid, SeatBlockLibrary> LIBRARIES = CacheBuilder.newBuilder()
+      .weakKeys()
+      .build();
+
+  // seats in the order the grower adds them, starting with the start seat
+  private final int[][] orders;
+
+  @Inject
+  public SeatBlockLibrary(SeatGrid grid, List<TeamCore> teams) {
+    this(grid, teams.stream().mapToInt(TeamCore::numMembers).max().orElse(0), TeamChromosome.MAX_SEAT_ATTEMPTS);
+  }
+
+  SeatBlockLibrary(SeatGrid grid, int maxSize, int maxAdded) {
+    Stopwatch stopwatch = Stopwatch.createStarted();
+    this.orders = new int[grid.size()][];
+
+    BitSet all = new BitSet(grid.size());
+    all.set(0, grid.size());
+    IntStream.range(0, grid.size())
+        .parallel()
+        .forEach(start -> orders[start] = SeatBlockGrower.order(grid, start, all, maxSize, maxAdded));
+
+    LIBRARIES.put(grid, this);
+    LOG.info("Built seat block library for {} seats up to size {} in {}ms",
+        grid.size(), maxSize, stopwatch.elapsed(TimeUnit.MILLISECONDS));
+  }
+
+  static SeatBlockLibrary forGrid(SeatGrid grid) {
+    return LIBRARIES.getIfPresent(grid);
+  }
+
+  /**
+   * @return the seats the grower would pick from start, or null if they aren't all available or
+   * the library doesn't cover the size
+   */
+  BitSet select(int start, BitSet availableSeats, int size, int maxAdded) {
+    int[] order = orders[start];
+    int blockSize = Math.max(1, Math.min(size, maxAdded + 1));
+    if (blockSize > order.length) {
+      return null;
+    }
+
+    for (int i = 1; i < blockSize; i++) {
+      if (!availableSeats.get(order[i])) {
+        return null;
+      }
+    }
+
+    BitSet selected = new BitSet(availableSeats.size());
+    for (int i = 0; i < blockSize; i++) {
+      selected.set(order[i]);
+    }
+    return selected;
+  }
+
+  /**
+   * @return the full block order from start, do not modify
+   */
+  public int[] getOrder(int start) {
+    return orders[start];
+  }
+}
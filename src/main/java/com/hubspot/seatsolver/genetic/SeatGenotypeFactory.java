@@ -32,11 +32,13 @@ public class SeatGenotypeFactory implements Factory<Genotype<EnumGene<SeatCore>>
   private final Map<SeatCore, Integer> seatIndex;
   private final List<TeamCore> teams;
   private final SeatGrid grid;
+  private final TeamCostCache costCache;
 
   @Inject
   public SeatGenotypeFactory(ISeq<SeatCore> seats,
                              List<TeamCore> teams,
-                             SeatGrid grid) {
+                             SeatGrid grid,
+                             TeamCostCache costCache) {
     this.seats = seats;
     this.seatIndex = new IdentityHashMap<>(seats.size());
     for (int i = 0; i < seats.size(); ++i) {
@@ -44,6 +46,7 @@ public class SeatGenotypeFactory implements Factory<Genotype<EnumGene<SeatCore>>
     }
     this.teams = teams;
     this.grid = grid;
+    this.costCache = costCache;
   }
 
   @Override
@@ -54,22 +57,26 @@ public class SeatGenotypeFactory implements Factory<Genotype<EnumGene<SeatCore>>
     Stopwatch stopwatch = Stopwatch.createStarted();
     LOG.debug("Starting new genotype generation");
 
-    BitSet availableSeats = new BitSet(seats.size());
-    availableSeats.set(0, seats.size());
+    SeatAvailability availableSeats = SeatAvailability.all(seats.size());
 
-    List<Chromosome<EnumGene<SeatCore>>> chromosomes = teams.stream()
+    // Seat the largest teams first, but lay chromosomes out in team order like GreedySeatGenotypeFactory
+    Map<TeamCore, TeamChromosome> chromosomesByTeam = new IdentityHashMap<>(teams.size());
+    teams.stream()
         .sorted(Comparator.comparing(TeamCore::numMembers).reversed())
-        .map(team -> chromosomeForTeamCore(team, availableSeats))
+        .forEach(team -> chromosomesByTeam.put(team, chromosomeForTeamCore(team, availableSeats)));
+
+    List<Chromosome<EnumGene<SeatCore>>> chromosomes = teams.stream()
+        .<Chromosome<EnumGene<SeatCore>>>map(chromosomesByTeam::get)
         .collect(Collectors.toList());
 
-    chromosomes.add(new EmptySeatChromosome(seats, availableSeats));
+    chromosomes.add(new EmptySeatChromosome(seats, availableSeats.bits()));
 
     LOG.debug("Finished new genotype generation in {}ns", stopwatch.elapsed(TimeUnit.NANOSECONDS));
     return Genotype.of(chromosomes);
   }
 
   private TeamChromosome chromosomeForTeamCore(TeamCore team,
-                                               BitSet availableSeats) {
+                                               SeatAvailability availableSeats) {
     BitSet selected = TeamChromosome.selectSeatBlock(
         grid,
         seats,
@@ -79,12 +86,13 @@ public class SeatGenotypeFactory implements Factory<Genotype<EnumGene<SeatCore>>
     );
 
     // Remove from available set
-    availableSeats.andNot(selected);
+    availableSeats.removeAll(selected);
 
     return new TeamChromosome(
         grid,
         seats,
         seatIndex,
+        costCache,
         selected,
         team);
   }
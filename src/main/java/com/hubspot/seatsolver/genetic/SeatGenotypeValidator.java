@@ -1,14 +1,13 @@
 package com.hubspot.seatsolver.genetic;
 
+import java.util.BitSet;
 import java.util.HashSet;
 import java.util.Set;
-import java.util.concurrent.TimeUnit;
 import java.util.stream.Collectors;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
-import com.google.common.base.Stopwatch;
 import com.google.inject.Inject;
 import com.hubspot.seatsolver.grid.SeatGrid;
 import com.hubspot.seatsolver.model.SeatCore;
@@ -16,36 +15,62 @@ import com.hubspot.seatsolver.model.SeatCore;
 import io.jenetics.Chromosome;
 import io.jenetics.EnumGene;
 import io.jenetics.Genotype;
-import net.openhft.koloboke.collect.set.hash.HashObjSet;
-import net.openhft.koloboke.collect.set.hash.HashObjSets;
 
 public class SeatGenotypeValidator {
   private static final Logger LOG = LoggerFactory.getLogger(SeatGenotypeValidator.class);
 
   private final SeatGrid grid;
+  private final ThreadLocal<Scratch> scratch;
 
   @Inject
   public SeatGenotypeValidator(SeatGrid grid) {
     this.grid = grid;
+    this.scratch = ThreadLocal.withInitial(() -> new Scratch(grid.size()));
   }
 
   public boolean validateGenotype(Genotype<EnumGene<SeatCore>> genotype) {
-    Stopwatch stopwatch = Stopwatch.createStarted();
+    if (!LOG.isDebugEnabled()) {
+      return validate(genotype);
+    }
+
+    long start = System.nanoTime();
+    boolean valid = validate(genotype);
+    LOG.debug("Validated genotype in {}ns", System.nanoTime() - start);
+    return valid;
+  }
 
+  private boolean validate(Genotype<EnumGene<SeatCore>> genotype) {
     LOG.trace("Validating genotype: {}", genotype);
+    Scratch s = scratch.get();
+    try {
+      return validate(genotype, s);
+    } finally {
+      s.chosen.clear();
+      s.teamsSeen.clear();
+    }
+  }
+
+  /**
+   * Size and connectivity are cached per chromosome ({@link TeamChromosome#isIntrinsicallyValid()}),
+   * so a child only pays for them on the chromosomes its mutation replaced. What's left is checking
+   * that the chromosomes' seat sets are disjoint and cover the grid.
+   */
+  private boolean validate(Genotype<EnumGene<SeatCore>> genotype, Scratch s) {
     boolean hasEmpty = false;
-    Set<String> teamsSeen = new HashSet<>();
-    for (Chromosome<EnumGene<SeatCore>> chromosome : genotype) {
+    for (int i = 0; i < genotype.length(); i++) {
+      Chromosome<EnumGene<SeatCore>> chromosome = genotype.get(i);
       if (chromosome instanceof TeamChromosome) {
         TeamChromosome teamChromosome = ((TeamChromosome) chromosome);
-        if (!teamChromosome.hasTheRightNumberOfSeats()) {
+        if (!teamChromosome.isIntrinsicallyValid()) {
+          if (LOG.isDebugEnabled()) {
+            LOG.debug("Got wrongly sized or unconnected chromosome: {}", chromosome.stream().collect(Collectors.toList()));
+          }
           return false;
         }
 
-        if (teamsSeen.contains(teamChromosome.getIdentifier())) {
+        if (!s.teamsSeen.add(teamChromosome.getIdentifier())) {
           return false;
         }
-        teamsSeen.add(teamChromosome.getIdentifier());
       } else {
         hasEmpty = true;
       }
@@ -55,72 +80,43 @@ public class SeatGenotypeValidator {
       return false;
     }
 
-    HashObjSet<String> chosen = HashObjSets.getDefaultFactory().newMutableSet();
-    HashObjSet<String> empty = HashObjSets.getDefaultFactory().newMutableSet();
-    for (Chromosome<EnumGene<SeatCore>> chromosome : genotype) {
-      if (chromosome instanceof EmptySeatChromosome) {
-        chromosome.stream()
-            .map(gene -> gene.getAllele().id())
-            .forEach(empty::add);
+    int chosen = 0;
+    int empty = 0;
+    for (int i = 0; i < genotype.length(); i++) {
+      AbstractSeatChromosome chromosome = (AbstractSeatChromosome) genotype.get(i);
+      BitSet seats = chromosome.usedSeatIndexes();
+      if (s.chosen.intersects(seats)) {
+        LOG.debug("Duplicate seat used by {}", chromosome.getIdentifier());
+        return false;
       }
 
-      for (EnumGene<SeatCore> gene : chromosome) {
-        if (chosen.contains(gene.getAllele().id())) {
-          LOG.debug("Duplicate seat used: {}", gene.getAllele());
+      s.chosen.or(seats);
+      chosen += chromosome.length();
+      if (chromosome instanceof EmptySeatChromosome) {
+        // team chromosomes check for repeated seats as part of their own validity
+        if (seats.cardinality() != chromosome.length()) {
+          LOG.debug("Duplicate seat used by {}", chromosome.getIdentifier());
           return false;
         }
-
-        chosen.add(gene.getAllele().id());
-      }
-
-      // now do adjacency
-      if (chromosome.length() == 1 || chromosome instanceof EmptySeatChromosome) {
-        continue;
-      }
-
-      HashObjSet<SeatCore> seats = chromosome.stream()
-          .map(EnumGene::getAllele)
-          .collect(Collectors.toCollection(HashObjSets.getDefaultFactory()::newMutableSet));
-
-      SeatCore start = seats.iterator().next();
-      Set<SeatCore> connected = connectedSeatsForSeatCore(start, seats);
-
-      if (connected.size() < chromosome.length()) {
-        LOG.debug("Got unconnected chromosome: {}", chromosome.stream().collect(Collectors.toList()));
-        return false;
+        empty += chromosome.length();
       }
     }
 
-    if (chosen.size() + empty.size() < grid.size()) {
-      LOG.trace("Total selected seats including empty is not equal to grid seats ({} != {})", chosen.size() + empty.size(), grid.size());
+    if (chosen + empty < grid.size()) {
+      LOG.trace("Total selected seats including empty is not equal to grid seats ({} != {})", chosen + empty, grid.size());
       return false;
     }
 
     LOG.trace("Found valid genotype: {}", genotype);
-
-    LOG.debug("Validated genotype in {}ns", stopwatch.elapsed(TimeUnit.NANOSECONDS));
     return true;
   }
 
-  private Set<SeatCore> connectedSeatsForSeatCore(SeatCore seat, Set<SeatCore> toFind) {
-    HashObjSet<SeatCore> toFindMinusSelf = HashObjSets.newMutableSet(toFind);
-    toFindMinusSelf.remove(seat);
-
-    Set<SeatCore> adjacentSeats = new HashSet<>(grid.getAdjacent(seat));
-    adjacentSeats.removeIf(s -> !toFind.contains(s));
-
-    HashObjSet<SeatCore> toFindMinusAdjacent = HashObjSets.newMutableSet(toFindMinusSelf);
-    toFindMinusAdjacent.removeAll(adjacentSeats);
+  private static final class Scratch {
+    private final BitSet chosen;
+    private final Set<String> teamsSeen = new HashSet<>();
 
-    Set<SeatCore> result = HashObjSets.newMutableSet(adjacentSeats);
-    result.add(seat);
-
-    for (SeatCore adjacentSeatCore: adjacentSeats) {
-      Set<SeatCore> nextConnected = connectedSeatsForSeatCore(adjacentSeatCore, toFindMinusAdjacent);
-      toFindMinusAdjacent.removeAll(nextConnected);
-      result.addAll(nextConnected);
+    private Scratch(int seats) {
+      this.chosen = new BitSet(seats);
     }
-
-    return result;
   }
 }
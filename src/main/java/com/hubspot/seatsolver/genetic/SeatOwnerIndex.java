@@ -0,0 +1,130 @@
+package com.hubspot.seatsolver.genetic;
+
+import java.util.Arrays;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.hubspot.seatsolver.model.SeatCore;
+
+import io.jenetics.Chromosome;
+import io.jenetics.EnumGene;
+import io.jenetics.Genotype;
+
+/**
+ * Which chromosome of a genotype holds each seat, by seat index.
+ *
+ * Built lazily per genotype and kept while the genotype is reachable. A child from our mutators
+ * copies its parent's index and only re-assigns the seats of the chromosomes that were replaced.
+ */
+public final class SeatOwnerIndex {
+  public static final int NONE = -1;
+
+  private static final Cache<Genotype<EnumGene<SeatCore>>, SeatOwnerIndex> INDEXES = CacheBuilder.newBuilder()
+      .weakKeys()
+      .build();
+
+  private final int[] owners;
+  private final int emptyChromosome;
+
+  private SeatOwnerIndex(int[] owners, int emptyChromosome) {
+    this.owners = owners;
+    this.emptyChromosome = emptyChromosome;
+  }
+
+  public static SeatOwnerIndex of(Genotype<EnumGene<SeatCore>> genotype) {
+    SeatOwnerIndex index = INDEXES.getIfPresent(genotype);
+    if (index == null) {
+      index = derive(genotype);
+      if (index == null) {
+        index = build(genotype);
+      }
+      INDEXES.put(genotype, index);
+    }
+    return index;
+  }
+
+  /**
+   * @return the index of the chromosome holding the seat, or {@link #NONE}
+   */
+  public int ownerOf(int seat) {
+    return seat < owners.length ? owners[seat] : NONE;
+  }
+
+  /**
+   * @return the index of the {@link EmptySeatChromosome}, or {@link #NONE} if the genotype has none
+   */
+  public int emptyChromosomeIndex() {
+    return emptyChromosome;
+  }
+
+  private static SeatOwnerIndex build(Genotype<EnumGene<SeatCore>> genotype) {
+    int[] owners = new int[seatCount(genotype)];
+    Arrays.fill(owners, NONE);
+    int emptyChromosome = NONE;
+    for (int i = 0; i < genotype.length(); i++) {
+      Chromosome<EnumGene<SeatCore>> chromosome = genotype.get(i);
+      if (emptyChromosome == NONE && chromosome instanceof EmptySeatChromosome) {
+        emptyChromosome = i;
+      }
+      claim(owners, chromosome, i);
+    }
+    return new SeatOwnerIndex(owners, emptyChromosome);
+  }
+
+  private static SeatOwnerIndex derive(Genotype<EnumGene<SeatCore>> genotype) {
+    Genotype<EnumGene<SeatCore>> parent = GenotypeLineage.getParent(genotype);
+    if (parent == null || parent.length() != genotype.length()) {
+      return null;
+    }
+
+    SeatOwnerIndex parentIndex = INDEXES.getIfPresent(parent);
+    if (parentIndex == null) {
+      return null;
+    }
+
+    int emptyChromosome = parentIndex.emptyChromosome;
+    if (emptyChromosome == NONE || !(genotype.get(emptyChromosome) instanceof EmptySeatChromosome)) {
+      return null;
+    }
+
+    int[] owners = parentIndex.owners.clone();
+    // release every replaced chromosome's seats before claiming, chromosomes commonly trade seats
+    for (int i = 0; i < genotype.length(); i++) {
+      if (genotype.get(i) != parent.get(i)) {
+        release(owners, parent.get(i), i);
+      }
+    }
+    for (int i = 0; i < genotype.length(); i++) {
+      if (genotype.get(i) != parent.get(i)) {
+        claim(owners, genotype.get(i), i);
+      }
+    }
+
+    return new SeatOwnerIndex(owners, emptyChromosome);
+  }
+
+  private static void claim(int[] owners, Chromosome<EnumGene<SeatCore>> chromosome, int index) {
+    for (int j = 0; j < chromosome.length(); j++) {
+      owners[chromosome.getGene(j).getAlleleIndex()] = index;
+    }
+  }
+
+  private static void release(int[] owners, Chromosome<EnumGene<SeatCore>> chromosome, int index) {
+    for (int j = 0; j < chromosome.length(); j++) {
+      int seat = chromosome.getGene(j).getAlleleIndex();
+      if (owners[seat] == index) {
+        owners[seat] = NONE;
+      }
+    }
+  }
+
+  private static int seatCount(Genotype<EnumGene<SeatCore>> genotype) {
+    for (int i = 0; i < genotype.length(); i++) {
+      Chromosome<EnumGene<SeatCore>> chromosome = genotype.get(i);
+      if (chromosome.length() > 0) {
+        return chromosome.getGene(0).getValidAlleles().length();
+      }
+    }
+    return 0;
+  }
+}
@@ -1,31 +1,24 @@
 package com.hubspot.seatsolver.genetic;
 
-import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.BitSet;
-import java.util.HashSet;
-import java.util.Iterator;
-import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.OptionalInt;
-import java.util.Set;
 import java.util.concurrent.atomic.AtomicReference;
-import java.util.stream.Collectors;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
-import com.google.common.annotations.VisibleForTesting;
 import com.google.common.base.MoreObjects;
-import com.google.common.collect.Sets;
 import com.google.common.util.concurrent.AtomicDouble;
+import com.hubspot.seatsolver.grid.SeatDistances;
 import com.hubspot.seatsolver.grid.SeatGrid;
+import com.hubspot.seatsolver.grid.SeatHull;
 import com.hubspot.seatsolver.model.Point;
-import com.hubspot.seatsolver.model.PointBase;
 import com.hubspot.seatsolver.model.SeatCore;
 import com.hubspot.seatsolver.model.TeamCore;
 import com.hubspot.seatsolver.utils.Pair;
-import com.hubspot.seatsolver.utils.PointUtils;
 
 import io.jenetics.Chromosome;
 import io.jenetics.EnumGene;
@@ -39,26 +32,36 @@ public class TeamChromosome extends AbstractSeatChromosome {
   private final SeatGrid seatGrid;
   private final ISeq<SeatCore> allSeats;
   private final Map<SeatCore, Integer> seatIndex;
+  private final TeamCostCache costCache;
   private final TeamCore team;
   private final BitSet usedSeatIndexes;
+  private final int[] seatIndexes;
 
   private AtomicReference<Pair<SeatCore, Integer>> furthestSeat = new AtomicReference<>();
-  private AtomicReference<Point> centroid = new AtomicReference<>(null);
+  private AtomicReference<int[]> hull = new AtomicReference<>();
+  private AtomicReference<TeamCosts> costs = new AtomicReference<>(null);
+  private AtomicReference<Boolean> intrinsicallyValid = new AtomicReference<>();
+  private AtomicReference<double[]> seatDistanceSums = new AtomicReference<>();
+  private AtomicReference<int[]> boundarySeats = new AtomicReference<>();
+  private int seatDistanceSumsDepth;
   private AtomicDouble meanWeightedSeatDist = new AtomicDouble(-1);
-  private AtomicDouble teamDistanceCost = new AtomicDouble(-1);
-  private AtomicDouble pinnedDistanceCost = new AtomicDouble(-1);
-  private AtomicDouble squarenessScore = new AtomicDouble(-1);
 
   public TeamChromosome(ISeq<? extends EnumGene<SeatCore>> genes,
                         BitSet usedSeatIndexes,
                         SeatGrid seatGrid,
                         ISeq<SeatCore> allSeats,
                         Map<SeatCore, Integer> seatIndex,
+                        TeamCostCache costCache,
                         TeamCore team) {
     super(genes);
     this.usedSeatIndexes = usedSeatIndexes;
+    this.seatIndexes = new int[genes.size()];
+    for (int i = 0; i < seatIndexes.length; i++) {
+      seatIndexes[i] = genes.get(i).getAlleleIndex();
+    }
     this.seatGrid = seatGrid;
     this.seatIndex = seatIndex;
+    this.costCache = costCache;
     this.allSeats = allSeats;
     this.team = team;
   }
@@ -66,6 +69,7 @@ public class TeamChromosome extends AbstractSeatChromosome {
   public TeamChromosome(SeatGrid grid,
                         ISeq<SeatCore> allSeats,
                         Map<SeatCore, Integer> seatIndex,
+                        TeamCostCache costCache,
                         BitSet usedSeatIndexes,
                         TeamCore team) {
     this(
@@ -74,6 +78,7 @@ public class TeamChromosome extends AbstractSeatChromosome {
         grid,
         allSeats,
         seatIndex,
+        costCache,
         team
     );
   }
@@ -83,9 +88,11 @@ public class TeamChromosome extends AbstractSeatChromosome {
   }
 
   public boolean hasAnyAdjacent(SeatCore seat) {
-    Set<SeatCore> adjacent = seatGrid.getAdjacent(seat);
-    for (EnumGene<SeatCore> gene : this) {
-      if (adjacent.contains(gene.getAllele())) {
+    int[] offsets = seatGrid.getAdjacencyOffsets();
+    int[] neighbors = seatGrid.getAdjacencyNeighbors();
+    int seatIdx = seatGrid.indexOf(seat);
+    for (int i = offsets[seatIdx]; i < offsets[seatIdx + 1]; i++) {
+      if (usedSeatIndexes.get(neighbors[i])) {
         return true;
       }
     }
@@ -96,31 +103,24 @@ public class TeamChromosome extends AbstractSeatChromosome {
     return length() == team.numMembers();
   }
 
-  public double squarenessScore() {
-    if (length() <= 1) {
-      return 1;
-    }
-    if (this.squarenessScore.get() >= 0) {
-      return this.squarenessScore.get();
-    }
-
-    double nPairs = 0;
-    double nAdjacent = 0;
-
-    Set<SeatCore> seats = stream().map(EnumGene::getAllele).collect(Collectors.toSet());
-    Set<SeatCore> remaining = new HashSet<>(seats);
-    for (SeatCore seat : seats) {
-      remaining.remove(seat);
-
-      nPairs += seats.size();
-      nAdjacent += Sets.intersection(seatGrid.getAdjacent(seat), remaining).size();
+  /**
+   * Whether this chromosome is valid on its own: the right number of distinct seats, all connected.
+   * Computed once per chromosome since chromosomes are immutable and mostly survive mutation unchanged.
+   */
+  public boolean isIntrinsicallyValid() {
+    Boolean valid = intrinsicallyValid.get();
+    if (valid == null) {
+      valid = hasTheRightNumberOfSeats()
+          && usedSeatIndexes.cardinality() == length()
+          && seatGrid.isConnected(usedSeatIndexes);
+      intrinsicallyValid.set(valid);
     }
-
-    double result = nPairs / nAdjacent;
-    this.squarenessScore.set(result);
-    return result;
+    return valid;
   }
 
+  public double squarenessScore() {
+    return costs().getSquarenessScore();
+  }
 
   private static ISeq<EnumGene<SeatCore>> generateSeq(ISeq<SeatCore> allSeats,
                                                       BitSet selectedSeats) {
@@ -146,43 +146,36 @@ public class TeamChromosome extends AbstractSeatChromosome {
   }
 
   public double calculatePinnedDistanceCost() {
-    Double dist = pinnedDistanceCost.get();
-    if (dist >= 0) {
-      return dist;
-    }
-    if (team.wantsSeatProximity().isPresent()) {
-      double maxDistance = 0;
-      for (EnumGene<SeatCore> seatedSeat : this) {
-        maxDistance = Math.max(maxDistance,
-            PointUtils.distance(seatedSeat.getAllele(), team.wantsSeatProximity().get()));
-      }
-      double cost = Math.pow(maxDistance, 1.5) * 10;
-      pinnedDistanceCost.set(cost);
-      return cost;
-    } else {
-      pinnedDistanceCost.set(0);
-      return 0;
-    }
+    return costs().getPinnedDistanceCost();
   }
 
   public double calculateTeamDistanceCost() {
-    Double dist = teamDistanceCost.get();
-    if (dist >= 0) {
-      return dist;
+    return costs().getTeamDistanceCost();
+  }
+
+  private TeamCosts costs() {
+    TeamCosts c = costs.get();
+    if (c == null) {
+      c = costCache.get(this);
+      costs.set(c);
     }
-    ISeq<EnumGene<SeatCore>> seatsSequence = toSeq();
-    int seatLen = seatsSequence.size();
-    double maxDistance = 0.;
-    for (int i = 0; i < seatLen; ++i) {
-      for (int j = i + 1; j < seatLen; ++j) {
-        SeatCore seatA = seatsSequence.get(i).getAllele();
-        SeatCore seatB = seatsSequence.get(j).getAllele();
-        maxDistance = Math.max(maxDistance,
-            PointUtils.distance(seatA, seatB));
-      }
+    return c;
+  }
+
+  TeamCosts computeCosts() {
+    return TeamCosts.compute(seatGrid, team, seatIndexes, getHull(), usedSeatIndexes::get);
+  }
+
+  /**
+   * @return positions (into this chromosome's genes) of the seats on the convex hull of the team
+   */
+  public int[] getHull() {
+    int[] h = hull.get();
+    if (h == null) {
+      h = SeatHull.of(seatGrid.getDistances(), seatIndexes);
+      hull.set(h);
     }
-    teamDistanceCost.set(maxDistance);
-    return maxDistance;
+    return h;
   }
 
   public double meanWeightedSeatDistance() {
@@ -198,14 +191,13 @@ public class TeamChromosome extends AbstractSeatChromosome {
   private double calculateMeanWeightedSeatDistance() {
     double totalDist = 0.;
     int pairs = 0;
-    ISeq<EnumGene<SeatCore>> seatsSequence = toSeq();
+    SeatDistances distances = seatGrid.getDistances();
 
-    int seatLen = seatsSequence.size();
+    int seatLen = seatIndexes.length;
     for (int i = 0; i < seatLen; ++i) {
+      int seatA = seatIndexes[i];
       for (int j = i + 1; j < seatLen; ++j) {
-        SeatCore seatA = seatsSequence.get(i).getAllele();
-        SeatCore seatB = seatsSequence.get(j).getAllele();
-        totalDist += PointUtils.distance(seatA, seatB);
+        totalDist += distances.distance(seatA, seatIndexes[j]);
         pairs++;
       }
     }
@@ -217,25 +209,20 @@ public class TeamChromosome extends AbstractSeatChromosome {
   }
 
   public Point centroid() {
-    Point c = centroid.get();
-    if (c == null) {
-      c = centroid(toSeq().stream().map(EnumGene::getAllele).iterator());
-      centroid.set(c);
-    }
-    return c;
+    return costs().getCentroid();
   }
 
   @Override
   public AbstractSeatChromosome newSeatChromosome(ISeq<EnumGene<SeatCore>> genes) {
     BitSet usedSeatIndexes = new BitSet(this.usedSeatIndexes.size());
     for (EnumGene<SeatCore> gene : genes) {
-      usedSeatIndexes.set(seatIndex.get(gene.getAllele()));
+      usedSeatIndexes.set(gene.getAlleleIndex());
     }
-    return new TeamChromosome(genes, usedSeatIndexes, seatGrid, allSeats, seatIndex, team);
+    return new TeamChromosome(genes, usedSeatIndexes, seatGrid, allSeats, seatIndex, costCache, team);
   }
 
   public TeamChromosome newTeamChromosome(ISeq<SeatCore> availability) {
-    return new TeamChromosome(seatGrid, allSeats, seatIndex, selectSeatBlock(availability), team);
+    return new TeamChromosome(seatGrid, allSeats, seatIndex, costCache, selectSeatBlock(availability), team);
   }
 
   @Override
@@ -251,7 +238,7 @@ public class TeamChromosome extends AbstractSeatChromosome {
         seatIndex,
         createAvailabilityBitSet(allSeats),
         length());
-    return new TeamChromosome(seatGrid, allSeats, seatIndex, selected, team);
+    return new TeamChromosome(seatGrid, allSeats, seatIndex, costCache, selected, team);
   }
 
   public static BitSet createAvailabilityBitSet(ISeq<SeatCore> allSeats) {
@@ -270,18 +257,15 @@ public class TeamChromosome extends AbstractSeatChromosome {
   }
 
 
-  private static final int MAX_SEAT_ATTEMPTS = 100;
+  static final int MAX_SEAT_ATTEMPTS = 100;
+  private static final int MAX_SEAT_DISTANCE_SUMS_DEPTH = 64;
   private static final int MAX_BLOCK_ATTEMPTS = 100;
   private static final int MAX_FILL_ATTEMPTS = 250;
 
   private BitSet selectSeatBlock(ISeq<SeatCore> availableSeats) {
-    Set<SeatCore> seatsSet = new HashSet<>(availableSeats.size());
-    availableSeats.stream().forEach(seatsSet::add);
     BitSet availableSeatsBitSet = new BitSet(allSeats.size());
-    for (int i = 0; i < allSeats.size(); ++i) {
-      if (seatsSet.contains(allSeats.get(i))) {
-        availableSeatsBitSet.set(i);
-      }
+    for (SeatCore seat : availableSeats) {
+      availableSeatsBitSet.set(seatGrid.indexOf(seat));
     }
     return selectSeatBlock(
         seatGrid,
@@ -292,55 +276,173 @@ public class TeamChromosome extends AbstractSeatChromosome {
     );
   }
 
+  @Override
+  BitSet usedSeatIndexes() {
+    return usedSeatIndexes;
+  }
+
   public boolean hasSeatIndex(int seatIndex) {
     return usedSeatIndexes.get(seatIndex);
   }
 
+  /**
+   * @return the position of the seat index in this chromosome's genes, or -1
+   */
+  public int positionOf(int seatIndex) {
+    for (int i = 0; i < seatIndexes.length; i++) {
+      if (seatIndexes[i] == seatIndex) {
+        return i;
+      }
+    }
+    return -1;
+  }
+
   public Pair<SeatCore, Integer> getFurthestSeat() {
     if (length() == 1) {
-      SeatCore seat = getSeat(0);
-      return Pair.of(seat, seatIndex.get(seat));
+      return Pair.of(getSeat(0), seatIndexes[0]);
     }
     if (furthestSeat.get() != null) {
       return furthestSeat.get();
     }
+    // The summed distance to all other seats is convex, so its maximum is on the hull
+    double[] sums = getSeatDistanceSums();
     double maxDistance = 0;
-    SeatCore worstSeat = null;
-    for (int i = 0; i < length(); ++i) {
-      double currentDistance = 0;
-      SeatCore needleSeat = getSeat(i);
-      for (int j = 0; j < length(); ++j) {
-        if (i != j) {
-          currentDistance += PointUtils.distance(needleSeat, getSeat(j));
-        }
-      }
-      if (currentDistance > maxDistance) {
+    int worstSeat = 0;
+    for (int i : getHull()) {
+      double currentDistance = sums[i];
+      if (currentDistance > maxDistance || (currentDistance == maxDistance && i < worstSeat)) {
         maxDistance = currentDistance;
-        worstSeat = needleSeat;
+        worstSeat = i;
       }
     }
     Pair<SeatCore, Integer> result = Pair.of(
-        worstSeat, seatIndex.get(worstSeat)
+        getSeat(worstSeat), seatIndexes[worstSeat]
     );
     furthestSeat.set(result);
     return result;
   }
 
+  /**
+   * For each gene position, the summed distance from its seat to every other seat of the team. Derived
+   * in O(k) for chromosomes made by {@link #withSeatExchanged}, otherwise computed once in O(k^2).
+   * Do not modify.
+   */
+  public double[] getSeatDistanceSums() {
+    double[] sums = seatDistanceSums.get();
+    if (sums == null) {
+      SeatDistances distances = seatGrid.getDistances();
+      sums = new double[seatIndexes.length];
+      for (int i = 0; i < seatIndexes.length; i++) {
+        for (int j = i + 1; j < seatIndexes.length; j++) {
+          double distance = distances.distance(seatIndexes[i], seatIndexes[j]);
+          sums[i] += distance;
+          sums[j] += distance;
+        }
+      }
+      seatDistanceSums.set(sums);
+    }
+    return sums;
+  }
+
+  /**
+   * @return gene positions of the seats with at least one neighbor outside the team, in gene order. Do not modify.
+   */
+  public int[] getBoundarySeats() {
+    int[] boundary = boundarySeats.get();
+    if (boundary == null) {
+      int[] offsets = seatGrid.getAdjacencyOffsets();
+      int[] neighbors = seatGrid.getAdjacencyNeighbors();
+      int[] positions = new int[seatIndexes.length];
+      int count = 0;
+      for (int i = 0; i < seatIndexes.length; i++) {
+        int seat = seatIndexes[i];
+        for (int j = offsets[seat]; j < offsets[seat + 1]; j++) {
+          if (!usedSeatIndexes.get(neighbors[j])) {
+            positions[count++] = i;
+            break;
+          }
+        }
+      }
+      boundary = Arrays.copyOf(positions, count);
+      boundarySeats.set(boundary);
+    }
+    return boundary;
+  }
+
+  /**
+   * This team with the seat at the gene position given up and the seat of the gene appended, the
+   * exchange {@link com.hubspot.seatsolver.genetic.alter.NearSeatMutator} makes. Seat distance sums carry
+   * over in O(k), with a periodic full recompute so rounding error can't build up over a lineage.
+   */
+  public TeamChromosome withSeatExchanged(int position, EnumGene<SeatCore> gene) {
+    MSeq<EnumGene<SeatCore>> genes = MSeq.ofLength(length());
+    int next = 0;
+    for (int i = 0; i < length(); i++) {
+      if (i != position) {
+        genes.set(next++, getGene(i));
+      }
+    }
+    genes.set(next, gene);
+    TeamChromosome child = (TeamChromosome) newSeatChromosome(genes.toISeq());
+
+    double[] sums = seatDistanceSums.get();
+    if (sums != null && seatDistanceSumsDepth < MAX_SEAT_DISTANCE_SUMS_DEPTH) {
+      SeatDistances distances = seatGrid.getDistances();
+      int removed = seatIndexes[position];
+      int added = gene.getAlleleIndex();
+      double[] childSums = new double[length()];
+      double addedSum = 0;
+      next = 0;
+      for (int i = 0; i < length(); i++) {
+        if (i != position) {
+          double toAdded = distances.distance(seatIndexes[i], added);
+          childSums[next++] = sums[i] - distances.distance(seatIndexes[i], removed) + toAdded;
+          addedSum += toAdded;
+        }
+      }
+      childSums[next] = addedSum;
+      child.seatDistanceSums.set(childSums);
+      child.seatDistanceSumsDepth = seatDistanceSumsDepth + 1;
+    }
+    return child;
+  }
+
+  /**
+   * @return the seat outside the team, bordering it, whose furthest distance to the team is smallest
+   * (ties to the lowest seat index)
+   */
   public Optional<Pair<SeatCore, Integer>> findAdjacentSeat() {
-    BitSet allAvailable = new BitSet(usedSeatIndexes.size());
-    allAvailable.set(0, allAvailable.size());
-    OptionalInt maybeIdx = selectAdjacent(
-        allSeats,
-        seatIndex,
-        usedSeatIndexes,
-        allAvailable,
-        seatGrid
-    );
-    if (maybeIdx.isPresent()) {
-      return Optional.of(Pair.of(allSeats.get(maybeIdx.getAsInt()), maybeIdx.getAsInt()));
-    } else {
+    int[] offsets = seatGrid.getAdjacencyOffsets();
+    int[] neighbors = seatGrid.getAdjacencyNeighbors();
+    SeatDistances distances = seatGrid.getDistances();
+    int[] hull = getHull();
+
+    double minDistance = Double.MAX_VALUE;
+    int nearestSeat = -1;
+    for (int position : getBoundarySeats()) {
+      int seat = seatIndexes[position];
+      for (int j = offsets[seat]; j < offsets[seat + 1]; j++) {
+        int candidate = neighbors[j];
+        if (usedSeatIndexes.get(candidate)) {
+          continue;
+        }
+
+        // the team seat furthest from any point is on the hull
+        double distance = 0;
+        for (int vertex : hull) {
+          distance = Math.max(distances.distance(candidate, seatIndexes[vertex]), distance);
+        }
+        if (distance < minDistance || (distance == minDistance && candidate < nearestSeat)) {
+          nearestSeat = candidate;
+          minDistance = distance;
+        }
+      }
+    }
+
+    if (nearestSeat < 0) {
       return Optional.empty();
     }
+    return Optional.of(Pair.of(allSeats.get(nearestSeat), nearestSeat));
   }
 
   public static BitSet selectSeatBlock(SeatGrid grid,
@@ -348,7 +450,16 @@ public class TeamChromosome extends AbstractSeatChromosome {
                                        Map<SeatCore, Integer> seatIndex,
                                        BitSet availableSeats,
                                        int size) {
-    BitSet selected = selectBlockWithRetries(grid, seats, seatIndex, availableSeats, size);
+    return selectSeatBlock(grid, seats, seatIndex, SeatAvailability.of(seats.size(), availableSeats), size);
+  }
+
+  public static BitSet selectSeatBlock(SeatGrid grid,
+                                       ISeq<SeatCore> seats,
+                                       Map<SeatCore, Integer> seatIndex,
+                                       SeatAvailability availability,
+                                       int size) {
+    BitSet availableSeats = availability.bits();
+    BitSet selected = selectBlockWithRetries(grid, seats, seatIndex, availability, size);
     BitSet usedSeats = (BitSet) availableSeats.clone();
     if (selected.cardinality() < size) {
       LOG.debug("Could not find enough adjacent seats for team of size {}", size);
@@ -357,15 +468,15 @@ public class TeamChromosome extends AbstractSeatChromosome {
       int fillAttempts = 0;
       while (selected.cardinality() < size && fillAttempts < MAX_FILL_ATTEMPTS) {
         fillAttempts++;
-        if (availableSeats.size() == 0 || availableSeats.cardinality() == 0) {
+        if (availability.count() == 0) {
           break;
         }
 
-        int availableSeatIdx = getAvailableIndex(availableSeats);
+        int availableSeatIdx = availability.random(RandomRegistry.getRandom());
         if (usedSeats.get(availableSeatIdx)) {
           continue;
         }
-        availableSeats.clear(availableSeatIdx);
+        availability.remove(availableSeatIdx);
       }
 
       if (selected.cardinality() < size) {
@@ -376,48 +487,21 @@ public class TeamChromosome extends AbstractSeatChromosome {
     return selected;
   }
 
-  private static int getAvailableIndex(BitSet availableSeats) {
-    if (((double) availableSeats.cardinality()) / availableSeats.size() > 0.01) {
-      while (true) {
-        int offset = RandomRegistry.getRandom().nextInt(availableSeats.size());
-        if (availableSeats.get(offset)) {
-          return offset;
-        }
-      }
-    } else {
-      int availableSeatOffset = RandomRegistry.getRandom().nextInt(availableSeats.cardinality());
-      return getValueOfIndex(availableSeats, availableSeatOffset);
-    }
-  }
-
-  @VisibleForTesting
-  static int getValueOfIndex(BitSet availableSeats, int idx) {
-    int lastIndex = -1;
-    int currentCount = 0;
-    for (int i = availableSeats.nextSetBit(0); i >= 0; i = availableSeats.nextSetBit(i + 1)) {
-      if (i == Integer.MAX_VALUE) {
-        break;
-      }
-      if (currentCount++ > idx) {
-        break;
-      }
-      lastIndex = i;
-    }
-    return lastIndex;
-  }
-
   private static BitSet selectBlockWithRetries(SeatGrid grid,
                                                ISeq<SeatCore> seats,
                                                Map<SeatCore, Integer> seatIndex,
-                                               BitSet availableSeats,
+                                               SeatAvailability availability,
                                                int size) {
     BitSet lastSelected = new BitSet(seats.size());
+    if (availability.count() == 0) {
+      return lastSelected;
+    }
 
     for (int y = 0; y < MAX_BLOCK_ATTEMPTS; y++) {
       // pick a random starting point with a low connection count
-      int randomSeatIndex = getAvailableIndex(availableSeats);
+      int randomSeatIndex = availability.random(RandomRegistry.getRandom());
 
-      BitSet selected = selectBlock(randomSeatIndex, grid, seats, seatIndex, availableSeats, size);
+      BitSet selected = selectBlock(randomSeatIndex, grid, seats, seatIndex, availability.bits(), size);
 
       if (selected.cardinality() == size) {
         return selected;
@@ -429,29 +513,16 @@ public class TeamChromosome extends AbstractSeatChromosome {
     return lastSelected;
   }
 
+  /**
+   * Grows a block from startIdx by repeatedly taking the {@link #selectAdjacent} seat, see {@link SeatBlockGrower}
+   */
   public static BitSet selectBlock(int startIdx,
                                    SeatGrid grid,
                                    ISeq<SeatCore> seats,
                                    Map<SeatCore, Integer> seatIndex,
                                    BitSet availableSeats,
                                    int size) {
-    BitSet selected = new BitSet(seats.size());
-    selected.set(startIdx);
-
-    for (int x = 0; x < MAX_SEAT_ATTEMPTS; x++) {
-      if (selected.cardinality() == size) {
-        return selected;
-      }
-
-      OptionalInt adjacentIdx = selectAdjacent(seats, seatIndex, selected, availableSeats, grid);
-      if (!adjacentIdx.isPresent()) {
-        break;
-      }
-
-      selected.set(adjacentIdx.getAsInt());
-    }
-
-    return selected;
+    return SeatBlockGrower.grow(grid, startIdx, availableSeats, size, MAX_SEAT_ATTEMPTS);
   }
 
   public static OptionalInt selectAdjacent(ISeq<SeatCore> allSeats,
@@ -460,25 +531,21 @@ public class TeamChromosome extends AbstractSeatChromosome {
                                            BitSet availableSeats,
                                            SeatGrid grid) {
     BitSet adjacent = new BitSet(allSeats.size());
-    List<SeatCore> existing = new ArrayList<>(selected.cardinality());
+    int[] existing = new int[selected.cardinality()];
+    int existingCount = 0;
 
     for (int i = selected.nextSetBit(0); i >= 0; i = selected.nextSetBit(i + 1)) {
       if (i == Integer.MAX_VALUE) {
         break;
       }
-      existing.add(allSeats.get(i));
-
-      for (SeatCore adj : grid.getAdjacent(allSeats.get(i))) {
-        adjacent.set(seatIndex.get(adj));
-      }
+      existing[existingCount++] = i;
+      grid.addAdjacent(i, adjacent);
     }
 
-    BitSet availableForSelection = (BitSet) availableSeats.clone();
-    availableForSelection.andNot(selected);
-
-    adjacent.and(availableForSelection);
+    adjacent.and(availableSeats);
+    adjacent.andNot(selected);
 
-    //Point center = centroid(existing.iterator());
+    SeatDistances distances = grid.getDistances();
     double minDistance = Double.MAX_VALUE;
     int nearestSeat = -1;
 
@@ -487,8 +554,8 @@ public class TeamChromosome extends AbstractSeatChromosome {
         break;
       }
       double myDistance = 0;
-      for (SeatCore existingSeat : existing) {
-        myDistance = Math.max(PointUtils.distance(allSeats.get(i), existingSeat), myDistance);
+      for (int j = 0; j < existingCount; j++) {
+        myDistance = Math.max(distances.distance(i, existing[j]), myDistance);
       }
       if (myDistance < minDistance) {
         nearestSeat = i;
@@ -505,23 +572,4 @@ public class TeamChromosome extends AbstractSeatChromosome {
     return team.id();
   }
 
-  private static Point centroid(Iterator<? extends PointBase> points) {
-    double sumX = 0;
-    double sumY = 0;
-
-    int count = 0;
-
-    while (points.hasNext()) {
-      PointBase point = points.next();
-      sumX += point.x();
-      sumY += point.y();
-      ++count;
-    }
-
-    double x = sumX / count;
-    double y = sumY / count;
-
-    return Point.builder().x(x).y(y).build();
-  }
-
 }
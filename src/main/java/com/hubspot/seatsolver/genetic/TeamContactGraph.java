@@ -0,0 +1,265 @@
+package com.hubspot.seatsolver.genetic;
+
+import java.util.Arrays;
+import java.util.Random;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.hubspot.seatsolver.grid.SeatGrid;
+import com.hubspot.seatsolver.model.SeatCore;
+
+import io.jenetics.Chromosome;
+import io.jenetics.EnumGene;
+import io.jenetics.Genotype;
+
+/**
+ * Which team chromosomes of a genotype border each other, and along how many adjacent seat pairs.
+ * Rows are indexed by chromosome index, empty seats are not part of the graph.
+ *
+ * Built lazily per genotype. A child of an indexed parent rebuilds only the rows of its replaced
+ * chromosomes and patches their entries in the rows of the teams they touch(ed), other rows are shared.
+ */
+public final class TeamContactGraph {
+  public static final int NONE = -1;
+
+  private static final int[] NO_CONTACTS = new int[0];
+  private static final Cache<Genotype<EnumGene<SeatCore>>, TeamContactGraph> GRAPHS = CacheBuilder.newBuilder()
+      .weakKeys()
+      .build();
+
+  private final int[][] partners;
+  private final int[][] contacts;
+  private final int[] totals;
+
+  private TeamContactGraph(int[][] partners, int[][] contacts, int[] totals) {
+    this.partners = partners;
+    this.contacts = contacts;
+    this.totals = totals;
+  }
+
+  public static TeamContactGraph of(Genotype<EnumGene<SeatCore>> genotype) {
+    TeamContactGraph graph = GRAPHS.getIfPresent(genotype);
+    if (graph == null) {
+      SeatGrid grid = gridOf(genotype);
+      if (grid == null) {
+        graph = new TeamContactGraph(new int[genotype.length()][], new int[genotype.length()][], new int[genotype.length()]);
+        Arrays.fill(graph.partners, NO_CONTACTS);
+        Arrays.fill(graph.contacts, NO_CONTACTS);
+      } else {
+        graph = derive(genotype, grid);
+        if (graph == null) {
+          graph = build(genotype, grid);
+        }
+      }
+      GRAPHS.put(genotype, graph);
+    }
+    return graph;
+  }
+
+  /**
+   * Chromosome indexes bordering the chromosome in ascending order, paired with {@link #contacts(int)}. Do not modify.
+   */
+  public int[] partners(int chromosome) {
+    return partners[chromosome];
+  }
+
+  public int[] contacts(int chromosome) {
+    return contacts[chromosome];
+  }
+
+  /**
+   * @return the number of adjacent seat pairs between the two chromosomes
+   */
+  public int contact(int chromosome, int other) {
+    int i = Arrays.binarySearch(partners[chromosome], other);
+    return i < 0 ? 0 : contacts[chromosome][i];
+  }
+
+  /**
+   * @return a bordering chromosome drawn with probability proportional to its contact length, or
+   * {@link #NONE} if the chromosome borders no team
+   */
+  public int randomNeighbor(int chromosome, Random random) {
+    if (totals[chromosome] == 0) {
+      return NONE;
+    }
+
+    int r = random.nextInt(totals[chromosome]);
+    int[] row = contacts[chromosome];
+    for (int i = 0; i < row.length; i++) {
+      r -= row[i];
+      if (r < 0) {
+        return partners[chromosome][i];
+      }
+    }
+    throw new IllegalStateException("Contact total out of sync with its row");
+  }
+
+  private static TeamContactGraph build(Genotype<EnumGene<SeatCore>> genotype, SeatGrid grid) {
+    SeatOwnerIndex owners = SeatOwnerIndex.of(genotype);
+    int size = genotype.length();
+    TeamContactGraph graph = new TeamContactGraph(new int[size][], new int[size][], new int[size]);
+    RowBuilder row = new RowBuilder(size);
+    for (int i = 0; i < size; i++) {
+      countContacts(genotype, grid, owners, i, row);
+      row.emit(graph, i);
+    }
+    return graph;
+  }
+
+  private static TeamContactGraph derive(Genotype<EnumGene<SeatCore>> genotype, SeatGrid grid) {
+    Genotype<EnumGene<SeatCore>> parent = GenotypeLineage.getParent(genotype);
+    if (parent == null || parent.length() != genotype.length()) {
+      return null;
+    }
+
+    TeamContactGraph parentGraph = GRAPHS.getIfPresent(parent);
+    if (parentGraph == null) {
+      return null;
+    }
+
+    int size = genotype.length();
+    boolean[] changed = new boolean[size];
+    int[] changedIndexes = new int[size];
+    int changedCount = 0;
+    for (int i = 0; i < size; i++) {
+      if (genotype.get(i) != parent.get(i)) {
+        changed[i] = true;
+        changedIndexes[changedCount++] = i;
+      }
+    }
+
+    TeamContactGraph graph = new TeamContactGraph(
+        parentGraph.partners.clone(),
+        parentGraph.contacts.clone(),
+        parentGraph.totals.clone()
+    );
+    if (changedCount == 0) {
+      return graph;
+    }
+
+    SeatOwnerIndex owners = SeatOwnerIndex.of(genotype);
+    RowBuilder row = new RowBuilder(size);
+    for (int c = 0; c < changedCount; c++) {
+      countContacts(genotype, grid, owners, changedIndexes[c], row);
+      row.emit(graph, changedIndexes[c]);
+    }
+
+    // Adjacency is symmetric, so an unchanged team's contact with a changed one is the changed row's entry.
+    // Only teams that bordered a changed chromosome before or after need their rows patched.
+    boolean[] patched = new boolean[size];
+    for (int c = 0; c < changedCount; c++) {
+      int changedIndex = changedIndexes[c];
+      patchNeighbors(graph, parentGraph.partners[changedIndex], changed, changedIndexes, changedCount, patched, row);
+      patchNeighbors(graph, graph.partners[changedIndex], changed, changedIndexes, changedCount, patched, row);
+    }
+    return graph;
+  }
+
+  private static void patchNeighbors(TeamContactGraph graph,
+                                     int[] neighbors,
+                                     boolean[] changed,
+                                     int[] changedIndexes,
+                                     int changedCount,
+                                     boolean[] patched,
+                                     RowBuilder row) {
+    for (int k : neighbors) {
+      if (changed[k] || patched[k]) {
+        continue;
+      }
+      patched[k] = true;
+
+      int[] oldPartners = graph.partners[k];
+      int[] oldContacts = graph.contacts[k];
+      for (int i = 0; i < oldPartners.length; i++) {
+        if (!changed[oldPartners[i]]) {
+          row.add(oldPartners[i], oldContacts[i]);
+        }
+      }
+      for (int c = 0; c < changedCount; c++) {
+        row.add(changedIndexes[c], graph.contact(changedIndexes[c], k));
+      }
+      row.emit(graph, k);
+    }
+  }
+
+  private static void countContacts(Genotype<EnumGene<SeatCore>> genotype,
+                                    SeatGrid grid,
+                                    SeatOwnerIndex owners,
+                                    int index,
+                                    RowBuilder row) {
+    Chromosome<EnumGene<SeatCore>> chromosome = genotype.get(index);
+    if (!(chromosome instanceof TeamChromosome)) {
+      return;
+    }
+
+    int[] offsets = grid.getAdjacencyOffsets();
+    int[] neighbors = grid.getAdjacencyNeighbors();
+    for (int i = 0; i < chromosome.length(); i++) {
+      int seat = chromosome.getGene(i).getAlleleIndex();
+      for (int j = offsets[seat]; j < offsets[seat + 1]; j++) {
+        int owner = owners.ownerOf(neighbors[j]);
+        if (owner != SeatOwnerIndex.NONE && owner != index && genotype.get(owner) instanceof TeamChromosome) {
+          row.add(owner, 1);
+        }
+      }
+    }
+  }
+
+  private static SeatGrid gridOf(Genotype<EnumGene<SeatCore>> genotype) {
+    for (int i = 0; i < genotype.length(); i++) {
+      if (genotype.get(i) instanceof TeamChromosome) {
+        return ((TeamChromosome) genotype.get(i)).getSeatGrid();
+      }
+    }
+    return null;
+  }
+
+  /**
+   * Accumulates one sparse row over chromosome indexes, reset by {@link #emit}
+   */
+  private static final class RowBuilder {
+    private final int[] counts;
+    private final int[] touched;
+    private int touchedCount;
+
+    private RowBuilder(int size) {
+      this.counts = new int[size];
+      this.touched = new int[size];
+    }
+
+    private void add(int partner, int contact) {
+      if (contact == 0) {
+        return;
+      }
+      if (counts[partner] == 0) {
+        touched[touchedCount++] = partner;
+      }
+      counts[partner] += contact;
+    }
+
+    private void emit(TeamContactGraph graph, int chromosome) {
+      if (touchedCount == 0) {
+        graph.partners[chromosome] = NO_CONTACTS;
+        graph.contacts[chromosome] = NO_CONTACTS;
+        graph.totals[chromosome] = 0;
+        return;
+      }
+
+      int[] partners = Arrays.copyOf(touched, touchedCount);
+      Arrays.sort(partners);
+      int[] contacts = new int[touchedCount];
+      int total = 0;
+      for (int i = 0; i < touchedCount; i++) {
+        contacts[i] = counts[partners[i]];
+        total += contacts[i];
+        counts[partners[i]] = 0;
+      }
+
+      graph.partners[chromosome] = partners;
+      graph.contacts[chromosome] = contacts;
+      graph.totals[chromosome] = total;
+      touchedCount = 0;
+    }
+  }
+}
@@ -0,0 +1,148 @@
+package com.hubspot.seatsolver.genetic;
+
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.function.IntPredicate;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.CacheStats;
+import com.google.inject.Inject;
+import com.google.inject.Singleton;
+import com.hubspot.seatsolver.config.SeatSolverConfig;
+import com.hubspot.seatsolver.grid.SeatGrid;
+import com.hubspot.seatsolver.grid.SeatHull;
+import com.hubspot.seatsolver.model.TeamCore;
+
+/**
+ * Shares computed {@link TeamCosts} between every chromosome that seats the same team in the same seats,
+ * most offspring inherit most of their teams' seats so these are scored once instead of per instance.
+ */
+@Singleton
+public class TeamCostCache {
+  private final Cache<Key, TeamCosts> cache;
+  // Lookups go through a reused per thread key, only misses allocate a key to store
+  private final ThreadLocal<Key> probes = ThreadLocal.withInitial(Key::new);
+
+  @Inject
+  public TeamCostCache(SeatSolverConfig config) {
+    this.cache = CacheBuilder.newBuilder()
+        .maximumSize(config.teamCostCacheSize())
+        .concurrencyLevel(Runtime.getRuntime().availableProcessors())
+        .recordStats()
+        .build();
+  }
+
+  TeamCosts get(TeamChromosome chromosome) {
+    Key probe = probes.get();
+    probe.set(chromosome.getTeam().id(), chromosome.usedSeatIndexes());
+
+    TeamCosts costs = cache.getIfPresent(probe);
+    if (costs == null) {
+      // Racing threads may both compute, that is cheaper than blocking on the loader
+      costs = chromosome.computeCosts();
+      cache.put(probe.copy(), costs);
+    }
+    return costs;
+  }
+
+  /**
+   * Costs of the team sitting in seats[from, to), which must be sorted ascending. Shares entries with
+   * chromosomes of the same team and seats.
+   */
+  public TeamCosts get(SeatGrid grid, TeamCore team, int[] seats, int from, int to, IntPredicate isMember) {
+    Key probe = probes.get();
+    probe.set(team.id(), seats, from, to);
+
+    TeamCosts costs = cache.getIfPresent(probe);
+    if (costs == null) {
+      int[] teamSeats = Arrays.copyOfRange(seats, from, to);
+      costs = TeamCosts.compute(grid, team, teamSeats, SeatHull.of(grid.getDistances(), teamSeats), isMember);
+      cache.put(probe.copy(), costs);
+    }
+    return costs;
+  }
+
+  public CacheStats stats() {
+    return cache.stats();
+  }
+
+  public long size() {
+    return cache.size();
+  }
+
+  private static final class Key {
+    private String teamId;
+    private int[] seats;
+    private int length;
+    private int hash;
+
+    private Key() {
+      this.seats = new int[16];
+    }
+
+    private Key(String teamId, int[] seats, int hash) {
+      this.teamId = teamId;
+      this.seats = seats;
+      this.length = seats.length;
+      this.hash = hash;
+    }
+
+    private void set(String teamId, BitSet usedSeats) {
+      this.teamId = teamId;
+      this.length = 0;
+      int h = teamId.hashCode();
+      for (int i = usedSeats.nextSetBit(0); i >= 0; i = usedSeats.nextSetBit(i + 1)) {
+        if (length == seats.length) {
+          seats = Arrays.copyOf(seats, seats.length * 2);
+        }
+        seats[length++] = i;
+        h = 31 * h + i;
+      }
+      this.hash = h;
+    }
+
+    private void set(String teamId, int[] sortedSeats, int from, int to) {
+      this.teamId = teamId;
+      this.length = to - from;
+      if (seats.length < length) {
+        seats = Arrays.copyOf(seats, Math.max(length, seats.length * 2));
+      }
+      int h = teamId.hashCode();
+      for (int i = 0; i < length; i++) {
+        seats[i] = sortedSeats[from + i];
+        h = 31 * h + seats[i];
+      }
+      this.hash = h;
+    }
+
+    private Key copy() {
+      return new Key(teamId, Arrays.copyOf(seats, length), hash);
+    }
+
+    @Override
+    public boolean equals(Object o) {
+      if (this == o) {
+        return true;
+      }
+      if (o == null || getClass() != o.getClass()) {
+        return false;
+      }
+      Key key = (Key) o;
+      if (hash != key.hash || length != key.length || !teamId.equals(key.teamId)) {
+        return false;
+      }
+      for (int i = 0; i < length; i++) {
+        if (seats[i] != key.seats[i]) {
+          return false;
+        }
+      }
+      return true;
+    }
+
+    @Override
+    public int hashCode() {
+      return hash;
+    }
+  }
+}
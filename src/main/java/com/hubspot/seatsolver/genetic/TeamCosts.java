@@ -0,0 +1,127 @@
+package com.hubspot.seatsolver.genetic;
+
+import java.util.function.IntPredicate;
+
+import com.google.common.base.MoreObjects;
+import com.hubspot.seatsolver.grid.SeatDistances;
+import com.hubspot.seatsolver.grid.SeatGrid;
+import com.hubspot.seatsolver.grid.SeatHull;
+import com.hubspot.seatsolver.model.Point;
+import com.hubspot.seatsolver.model.SeatCore;
+import com.hubspot.seatsolver.model.TeamCore;
+
+/**
+ * The cost terms of a team sitting in a specific set of seats
+ */
+public class TeamCosts {
+  private final double teamDistanceCost;
+  private final double pinnedDistanceCost;
+  private final double squarenessScore;
+  private final Point centroid;
+
+  public TeamCosts(double teamDistanceCost,
+                   double pinnedDistanceCost,
+                   double squarenessScore,
+                   Point centroid) {
+    this.teamDistanceCost = teamDistanceCost;
+    this.pinnedDistanceCost = pinnedDistanceCost;
+    this.squarenessScore = squarenessScore;
+    this.centroid = centroid;
+  }
+
+  /**
+   * @param seats the team's distinct seat indexes
+   * @param hull positions into seats of their convex hull, see {@link SeatHull#of}
+   * @param isMember whether a seat index is one of seats
+   */
+  public static TeamCosts compute(SeatGrid grid, TeamCore team, int[] seats, int[] hull, IntPredicate isMember) {
+    SeatDistances distances = grid.getDistances();
+    return new TeamCosts(
+        SeatHull.diameter(distances, seats, hull),
+        pinnedDistanceCost(distances, team, seats, hull),
+        squarenessScore(grid, seats, isMember),
+        centroid(distances, seats)
+    );
+  }
+
+  private static double pinnedDistanceCost(SeatDistances distances, TeamCore team, int[] seats, int[] hull) {
+    if (!team.wantsSeatProximity().isPresent()) {
+      return 0;
+    }
+
+    SeatCore pinnedSeat = team.wantsSeatProximity().get();
+    double pinnedX = pinnedSeat.x();
+    double pinnedY = pinnedSeat.y();
+    // The seat furthest from any point is always on the hull
+    double maxDistance = 0;
+    for (int position : hull) {
+      maxDistance = Math.max(maxDistance, distances.distance(seats[position], pinnedX, pinnedY));
+    }
+    return Math.pow(maxDistance, 1.5) * 10;
+  }
+
+  private static double squarenessScore(SeatGrid grid, int[] seats, IntPredicate isMember) {
+    if (seats.length <= 1) {
+      return 1;
+    }
+
+    double nPairs = 0;
+    double nAdjacent = 0;
+
+    int[] offsets = grid.getAdjacencyOffsets();
+    int[] neighbors = grid.getAdjacencyNeighbors();
+    for (int seat : seats) {
+      nPairs += seats.length;
+      // each adjacent pair is counted once, from its lower seat index
+      for (int i = offsets[seat]; i < offsets[seat + 1]; i++) {
+        if (neighbors[i] > seat && isMember.test(neighbors[i])) {
+          nAdjacent++;
+        }
+      }
+    }
+
+    return nPairs / nAdjacent;
+  }
+
+  private static Point centroid(SeatDistances distances, int[] seats) {
+    double sumX = 0;
+    double sumY = 0;
+
+    int count = seats.length;
+    for (int seat : seats) {
+      sumX += distances.x(seat);
+      sumY += distances.y(seat);
+    }
+
+    double x = sumX / count;
+    double y = sumY / count;
+
+    return Point.builder().x(x).y(y).build();
+  }
+
+  public double getTeamDistanceCost() {
+    return teamDistanceCost;
+  }
+
+  public double getPinnedDistanceCost() {
+    return pinnedDistanceCost;
+  }
+
+  public double getSquarenessScore() {
+    return squarenessScore;
+  }
+
+  public Point getCentroid() {
+    return centroid;
+  }
+
+  @Override
+  public String toString() {
+    return MoreObjects.toStringHelper(this)
+        .add("teamDistanceCost", teamDistanceCost)
+        .add("pinnedDistanceCost", pinnedDistanceCost)
+        .add("squarenessScore", squarenessScore)
+        .add("centroid", centroid)
+        .toString();
+  }
+}
@@ -0,0 +1,123 @@
+package com.hubspot.seatsolver.genetic;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.inject.Inject;
+import com.google.inject.Singleton;
+import com.hubspot.seatsolver.grid.SeatGrid;
+import com.hubspot.seatsolver.model.SeatCore;
+import com.hubspot.seatsolver.model.TeamCore;
+
+import io.jenetics.EnumGene;
+import io.jenetics.Genotype;
+
+/**
+ * Team indexes grouped by team size, so a partner of a given size is drawn in O(1) instead of by
+ * retrying random teams.
+ *
+ * Team sizes never change and both genotype factories lay chromosome i out for team i of the team list,
+ * with the empty seat chromosome after the teams, so team indexes double as chromosome indexes. Built
+ * once on injection and registered against its grid for the mutators, which only see genotypes.
+ */
+@Singleton
+public class TeamSizeBuckets {
+  public static final int NONE = -1;
+
+  private static final Cache<SeatGrid, TeamSizeBuckets> BUCKETS = CacheBuilder.newBuilder()
+      .weakKeys()
+      .build();
+
+  private final int[] sizes;
+  private final int[][] buckets;
+  private final int[] teamSizes;
+  private final int[] positionInBucket;
+
+  @Inject
+  public TeamSizeBuckets(SeatGrid grid, List<TeamCore> teams) {
+    this(teams.stream().mapToInt(TeamCore::numMembers).toArray());
+    BUCKETS.put(grid, this);
+  }
+
+  private TeamSizeBuckets(int[] teamSizes) {
+    this.teamSizes = teamSizes;
+    this.sizes = Arrays.stream(teamSizes).sorted().distinct().toArray();
+
+    int[] counts = new int[sizes.length];
+    for (int size : teamSizes) {
+      counts[Arrays.binarySearch(sizes, size)]++;
+    }
+    this.buckets = new int[sizes.length][];
+    for (int i = 0; i < sizes.length; i++) {
+      buckets[i] = new int[counts[i]];
+    }
+
+    this.positionInBucket = new int[teamSizes.length];
+    Arrays.fill(counts, 0);
+    for (int team = 0; team < teamSizes.length; team++) {
+      int bucket = Arrays.binarySearch(sizes, teamSizes[team]);
+      positionInBucket[team] = counts[bucket];
+      buckets[bucket][counts[bucket]++] = team;
+    }
+  }
+
+  /**
+   * The table for the genotype's grid. Built from the genotype's team chromosomes when nothing was
+   * injected for the grid, e.g. for an engine assembled by hand.
+   */
+  public static TeamSizeBuckets of(Genotype<EnumGene<SeatCore>> genotype) {
+    SeatGrid grid = null;
+    List<Integer> teamSizes = new ArrayList<>(genotype.length());
+    for (int i = 0; i < genotype.length() && genotype.get(i) instanceof TeamChromosome; i++) {
+      grid = ((TeamChromosome) genotype.get(i)).getSeatGrid();
+      teamSizes.add(genotype.get(i).length());
+    }
+    if (grid == null) {
+      return new TeamSizeBuckets(new int[0]);
+    }
+
+    TeamSizeBuckets buckets = BUCKETS.getIfPresent(grid);
+    if (buckets == null) {
+      buckets = new TeamSizeBuckets(teamSizes.stream().mapToInt(Integer::intValue).toArray());
+      BUCKETS.put(grid, buckets);
+    }
+    return buckets;
+  }
+
+  /**
+   * @return a random team index of the given size, or {@link #NONE} if there is none
+   */
+  public int random(int size, Random random) {
+    int bucket = Arrays.binarySearch(sizes, size);
+    if (bucket < 0) {
+      return NONE;
+    }
+    return buckets[bucket][random.nextInt(buckets[bucket].length)];
+  }
+
+  /**
+   * @return a random team index of the same size as the given team, other than itself, or
+   * {@link #NONE} if there is none or the index isn't a team's
+   */
+  public int randomPartner(int team, Random random) {
+    if (team < 0 || team >= teamSizes.length) {
+      return NONE;
+    }
+
+    int[] bucket = buckets[Arrays.binarySearch(sizes, teamSizes[team])];
+    if (bucket.length < 2) {
+      return NONE;
+    }
+
+    // draw from the bucket minus the team itself by shifting past its position
+    int position = random.nextInt(bucket.length - 1);
+    if (position >= positionInBucket[team]) {
+      position++;
+    }
+    return bucket[position];
+  }
+}
@@ -5,6 +5,8 @@ import java.util.Set;
 import java.util.stream.Collectors;
 
 import com.hubspot.seatsolver.genetic.EmptySeatChromosome;
+import com.hubspot.seatsolver.genetic.GenotypeLineage;
+import com.hubspot.seatsolver.genetic.SeatOwnerIndex;
 import com.hubspot.seatsolver.genetic.TeamChromosome;
 import com.hubspot.seatsolver.model.SeatCore;
 
@@ -18,11 +20,17 @@ import io.jenetics.internal.math.probability;
 import io.jenetics.util.ISeq;
 import io.jenetics.util.MSeq;
 
-public class EmptySeatSwapMutator extends Mutator<EnumGene<SeatCore>, Double> {
+public class EmptySeatSwapMutator extends Mutator<EnumGene<SeatCore>, Double>
+    implements RescalableAlterer<EnumGene<SeatCore>, Double> {
   public EmptySeatSwapMutator(double probability) {
     super(probability);
   }
 
+  @Override
+  public EmptySeatSwapMutator withProbability(double probability) {
+    return new EmptySeatSwapMutator(probability);
+  }
+
   protected MutatorResult<Phenotype<EnumGene<SeatCore>, Double>> mutate(
       final Phenotype<EnumGene<SeatCore>, Double> phenotype,
       final long generation,
@@ -43,20 +51,11 @@ public class EmptySeatSwapMutator extends Mutator<EnumGene<SeatCore>, Double> {
 
     TeamChromosome teamChromosome = ((TeamChromosome) chromosome);
 
-    int emptySeatIdx = -1;
-    EmptySeatChromosome empty = null;
-    for (int i = 0; i < genotype.length(); i++) {
-      Chromosome<EnumGene<SeatCore>> current = genotype.get(i);
-      if (current instanceof EmptySeatChromosome) {
-        emptySeatIdx = i;
-        empty = ((EmptySeatChromosome) current);
-        break;
-      }
-    }
-
-    if (emptySeatIdx == -1) {
+    int emptySeatIdx = SeatOwnerIndex.of(genotype).emptyChromosomeIndex();
+    if (emptySeatIdx == SeatOwnerIndex.NONE) {
       throw new IllegalStateException("All genotypes should have one EmptySeatChromosome");
     }
+    EmptySeatChromosome empty = ((EmptySeatChromosome) genotype.get(emptySeatIdx));
 
     TeamChromosome newChromosome = teamChromosome.newTeamChromosome(empty.toSeq().map(EnumGene::getAllele));
 
@@ -80,6 +79,6 @@ public class EmptySeatSwapMutator extends Mutator<EnumGene<SeatCore>, Double> {
     chromosomes.set(emptySeatIdx, newEmpty);
     chromosomes.set(chIdx, newChromosome);
 
-    return MutatorResult.of(phenotype.newInstance(Genotype.of(chromosomes)));
+    return MutatorResult.of(phenotype.newInstance(GenotypeLineage.derive(genotype, chromosomes)));
   }
 }
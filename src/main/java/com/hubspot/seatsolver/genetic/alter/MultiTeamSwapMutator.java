@@ -7,8 +7,10 @@ import java.util.stream.Collectors;
 import com.google.inject.Inject;
 import com.google.inject.assistedinject.Assisted;
 import com.hubspot.seatsolver.genetic.EmptySeatChromosome;
+import com.hubspot.seatsolver.genetic.GenotypeLineage;
 import com.hubspot.seatsolver.genetic.TeamChromosome;
-import com.hubspot.seatsolver.grid.SeatGrid;
+import com.hubspot.seatsolver.genetic.TeamContactGraph;
+import com.hubspot.seatsolver.genetic.TeamSizeBuckets;
 import com.hubspot.seatsolver.model.SeatCore;
 
 import io.jenetics.Chromosome;
@@ -21,13 +23,25 @@ import io.jenetics.internal.math.probability;
 import io.jenetics.util.ISeq;
 import io.jenetics.util.MSeq;
 
-public class MultiTeamSwapMutator extends Mutator<EnumGene<SeatCore>, Double> {
-  private final int maxSizeRetries;
+public class MultiTeamSwapMutator extends Mutator<EnumGene<SeatCore>, Double>
+    implements RescalableAlterer<EnumGene<SeatCore>, Double> {
 
+  public MultiTeamSwapMutator(double probability) {
+    super(probability);
+  }
+
+  /**
+   * @deprecated partners of the needed size are drawn from {@link TeamSizeBuckets}, maxSizeRetries is ignored
+   */
+  @Deprecated
   @Inject
   public MultiTeamSwapMutator(double probability, @Assisted int maxSizeRetries) {
-    super(probability);
-    this.maxSizeRetries = maxSizeRetries;
+    this(probability);
+  }
+
+  @Override
+  public MultiTeamSwapMutator withProbability(double probability) {
+    return new MultiTeamSwapMutator(probability);
   }
 
   protected MutatorResult<Phenotype<EnumGene<SeatCore>, Double>> mutate(
@@ -52,49 +66,24 @@ public class MultiTeamSwapMutator extends Mutator<EnumGene<SeatCore>, Double> {
     }
 
     TeamChromosome teamChromosome1 = ((TeamChromosome) ch1);
-    SeatGrid seatGrid = teamChromosome1.getSeatGrid();
-
-    Set<SeatCore> adjacent = ch1.stream()
-        .flatMap(seatEnumGene -> seatGrid.getAdjacent(seatEnumGene.getAllele()).stream())
-        .collect(Collectors.toSet());
-
-    // now find an adjacent team to add into the mix
-    int chIndex2 = -1;
-    TeamChromosome teamChromosome2 = null;
-    for (int i = 0; i < genotype.length(); i++) {
-      Chromosome<EnumGene<SeatCore>> maybeAdjacent = genotype.get(i);
-      if (maybeAdjacent instanceof EmptySeatChromosome) {
-        continue;
-      }
-
-      if (maybeAdjacent.stream().anyMatch(gene -> adjacent.contains(gene.getAllele()))) {
-        teamChromosome2 = ((TeamChromosome) maybeAdjacent);
-        chIndex2 = i;
-      }
-    }
 
-    if (chIndex2 < 0) {
+    // now find an adjacent team to add into the mix, teams sharing a longer border are likelier
+    int chIndex2 = TeamContactGraph.of(genotype).randomNeighbor(chIndex1, random);
+    if (chIndex2 == TeamContactGraph.NONE) {
       return MutatorResult.of(phenotype);
     }
+    TeamChromosome teamChromosome2 = ((TeamChromosome) genotype.get(chIndex2));
 
     int totalSize = teamChromosome1.length() + teamChromosome2.length();
 
-    int chIndex3 = random.nextInt(genotype.length());
-    Chromosome<EnumGene<SeatCore>> ch3 = genotype.get(chIndex3);
-
-    int i = 0;
-    while ((ch3.length() != totalSize && i < maxSizeRetries) || ch3 instanceof EmptySeatChromosome) {
-      i++;
-
-      chIndex3 = random.nextInt(genotype.length());
-      ch3 = genotype.get(chIndex3);
-    }
-
-    TeamChromosome teamChromosome3 = ((TeamChromosome) ch3);
-
-    if (teamChromosome3.length() != totalSize) {
+    int chIndex3 = TeamSizeBuckets.of(genotype).random(totalSize, random);
+    // team indexes are chromosome indexes only in the factories' layout, skip genotypes laid out otherwise
+    if (chIndex3 == TeamSizeBuckets.NONE ||
+        !(genotype.get(chIndex3) instanceof TeamChromosome) ||
+        genotype.get(chIndex3).length() != totalSize) {
       return MutatorResult.of(phenotype);
     }
+    TeamChromosome teamChromosome3 = ((TeamChromosome) genotype.get(chIndex3));
 
     ISeq<SeatCore> available = teamChromosome3.toSeq().map(EnumGene::getAllele);
     Chromosome<EnumGene<SeatCore>> newTeam1 = teamChromosome1.newTeamChromosome(available);
@@ -111,6 +100,6 @@ public class MultiTeamSwapMutator extends Mutator<EnumGene<SeatCore>, Double> {
     chromosomes.set(chIndex2, newTeam2);
     chromosomes.set(chIndex3, newTeam3);
 
-    return MutatorResult.of(phenotype.newInstance(Genotype.of(chromosomes)));
+    return MutatorResult.of(phenotype.newInstance(GenotypeLineage.derive(genotype, chromosomes)));
   }
 }
@@ -3,7 +3,8 @@ package com.hubspot.seatsolver.genetic.alter;
 import java.util.Optional;
 import java.util.Random;
 
-import com.google.common.collect.Streams;
+import com.hubspot.seatsolver.genetic.GenotypeLineage;
+import com.hubspot.seatsolver.genetic.SeatOwnerIndex;
 import com.hubspot.seatsolver.genetic.TeamChromosome;
 import com.hubspot.seatsolver.model.SeatCore;
 import com.hubspot.seatsolver.utils.Pair;
@@ -15,10 +16,10 @@ import io.jenetics.Mutator;
 import io.jenetics.MutatorResult;
 import io.jenetics.Phenotype;
 import io.jenetics.internal.math.probability;
-import io.jenetics.util.ISeq;
 import io.jenetics.util.MSeq;
 
-public class NearSeatMutator extends Mutator<EnumGene<SeatCore>, Double> {
+public class NearSeatMutator extends Mutator<EnumGene<SeatCore>, Double>
+    implements RescalableAlterer<EnumGene<SeatCore>, Double> {
   private final int maxSizeRetries;
 
   public NearSeatMutator(double probability, int maxSizeRetries) {
@@ -26,6 +27,11 @@ public class NearSeatMutator extends Mutator<EnumGene<SeatCore>, Double> {
     this.maxSizeRetries = maxSizeRetries;
   }
 
+  @Override
+  public NearSeatMutator withProbability(double probability) {
+    return new NearSeatMutator(probability, maxSizeRetries);
+  }
+
   protected MutatorResult<Phenotype<EnumGene<SeatCore>, Double>> mutate(
       final Phenotype<EnumGene<SeatCore>, Double> phenotype,
       final long generation,
@@ -43,52 +49,31 @@ public class NearSeatMutator extends Mutator<EnumGene<SeatCore>, Double> {
       final int chromosomeIdx = random.nextInt(genotype.length());
       Chromosome<EnumGene<SeatCore>> chromosome = genotype.get(chromosomeIdx);
       if (chromosome instanceof TeamChromosome) {
-        Optional<Pair<SeatCore, Integer>> otherTeamSeat = ((TeamChromosome) chromosome).findAdjacentSeat();
+        TeamChromosome team = (TeamChromosome) chromosome;
+        Optional<Pair<SeatCore, Integer>> otherTeamSeat = team.findAdjacentSeat();
         if (!otherTeamSeat.isPresent()) {
           continue;
         }
-        Pair<SeatCore, Integer> thisTeamSeat = ((TeamChromosome) chromosome).getFurthestSeat();
+        Pair<SeatCore, Integer> thisTeamSeat = team.getFurthestSeat();
 
-        Chromosome<EnumGene<SeatCore>> otherChromosome = null;
-        int otherChromosomeIdx = -1;
-        for (int otherTeamIndex = 0; otherTeamIndex < genotype.length(); ++otherTeamIndex) {
-          if (otherTeamIndex == chromosomeIdx) {
-            continue;
-          }
-          Chromosome<EnumGene<SeatCore>> otherTeam = genotype.get(otherTeamIndex);
-          if (otherTeam instanceof TeamChromosome &&
-              ((TeamChromosome) otherTeam).hasSeatIndex(otherTeamSeat.get().second())) {
-            otherChromosomeIdx = otherTeamIndex;
-            otherChromosome = otherTeam;
-            break;
-          }
-        }
-        if (otherChromosome == null) {
+        int otherChromosomeIdx = SeatOwnerIndex.of(genotype).ownerOf(otherTeamSeat.get().second());
+        if (otherChromosomeIdx == SeatOwnerIndex.NONE ||
+            otherChromosomeIdx == chromosomeIdx ||
+            !(genotype.get(otherChromosomeIdx) instanceof TeamChromosome)) {
           continue;
         }
+        TeamChromosome otherTeam = (TeamChromosome) genotype.get(otherChromosomeIdx);
 
-        ISeq<EnumGene<SeatCore>> team1Gene = Streams.concat(
-            chromosome.stream()
-                .filter(gene -> !gene.getAllele().equals(thisTeamSeat.first())),
-            otherChromosome.stream()
-                .filter(otherGene -> otherGene.getAllele().equals(otherTeamSeat.get().first()))
-        ).collect(ISeq.toISeq());
-
-        ISeq<EnumGene<SeatCore>> team2Gene = Streams.concat(
-            otherChromosome.stream()
-                .filter(gene -> !gene.getAllele().equals(otherTeamSeat.get().first())),
-            chromosome.stream()
-                .filter(thisGene -> thisGene.getAllele().equals(thisTeamSeat.first()))
-        ).collect(ISeq.toISeq());
-
-        MSeq<Chromosome<EnumGene<SeatCore>>> newGenotype = genotype.toSeq().copy();
-        TeamChromosome newTeam1 = (TeamChromosome) chromosome.newInstance(team1Gene);
-        TeamChromosome newTeam2 = (TeamChromosome) chromosome.newInstance(team2Gene);
-        if (newTeam1.squarenessScore() <= ((TeamChromosome) chromosome).squarenessScore() &&
-            newTeam2.squarenessScore() <= ((TeamChromosome) otherChromosome).squarenessScore()) {
-          newGenotype.set(chromosomeIdx, chromosome.newInstance(team1Gene));
-          newGenotype.set(otherChromosomeIdx, otherChromosome.newInstance(team2Gene));
-          return MutatorResult.of(phenotype.newInstance(Genotype.of(newGenotype)));
+        int thisPosition = team.positionOf(thisTeamSeat.second());
+        int otherPosition = otherTeam.positionOf(otherTeamSeat.get().second());
+        TeamChromosome newTeam1 = team.withSeatExchanged(thisPosition, otherTeam.getGene(otherPosition));
+        TeamChromosome newTeam2 = otherTeam.withSeatExchanged(otherPosition, team.getGene(thisPosition));
+        if (newTeam1.squarenessScore() <= team.squarenessScore() &&
+            newTeam2.squarenessScore() <= otherTeam.squarenessScore()) {
+          MSeq<Chromosome<EnumGene<SeatCore>>> newGenotype = genotype.toSeq().copy();
+          newGenotype.set(chromosomeIdx, newTeam1);
+          newGenotype.set(otherChromosomeIdx, newTeam2);
+          return MutatorResult.of(phenotype.newInstance(GenotypeLineage.derive(genotype, newGenotype)));
         } else {
           return MutatorResult.of(phenotype);
         }
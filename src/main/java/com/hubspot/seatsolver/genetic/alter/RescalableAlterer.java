@@ -0,0 +1,13 @@
+package com.hubspot.seatsolver.genetic.alter;
+
+import io.jenetics.Alterer;
+import io.jenetics.Gene;
+
+/**
+ * An alterer that can be rebuilt with another probability, so the adaptive engine can scale it
+ */
+public interface RescalableAlterer<G extends Gene<?, G>, C extends Comparable<? super C>> extends Alterer<G, C> {
+  double getProbability();
+
+  Alterer<G, C> withProbability(double probability);
+}
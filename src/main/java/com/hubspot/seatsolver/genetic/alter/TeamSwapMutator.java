@@ -2,6 +2,8 @@ package com.hubspot.seatsolver.genetic.alter;
 
 import java.util.Random;
 
+import com.hubspot.seatsolver.genetic.GenotypeLineage;
+import com.hubspot.seatsolver.genetic.TeamSizeBuckets;
 import com.hubspot.seatsolver.model.SeatCore;
 
 import io.jenetics.Chromosome;
@@ -14,12 +16,24 @@ import io.jenetics.internal.math.probability;
 import io.jenetics.util.ISeq;
 import io.jenetics.util.MSeq;
 
-public class TeamSwapMutator extends Mutator<EnumGene<SeatCore>, Double> {
-  private final int maxSizeRetries;
+public class TeamSwapMutator extends Mutator<EnumGene<SeatCore>, Double>
+    implements RescalableAlterer<EnumGene<SeatCore>, Double> {
 
-  public TeamSwapMutator(double probability, int maxSizeRetries) {
+  public TeamSwapMutator(double probability) {
     super(probability);
-    this.maxSizeRetries = maxSizeRetries;
+  }
+
+  /**
+   * @deprecated partners of equal size are drawn from {@link TeamSizeBuckets}, maxSizeRetries is ignored
+   */
+  @Deprecated
+  public TeamSwapMutator(double probability, int maxSizeRetries) {
+    this(probability);
+  }
+
+  @Override
+  public TeamSwapMutator withProbability(double probability) {
+    return new TeamSwapMutator(probability);
   }
 
   private void swap(MSeq<EnumGene<SeatCore>> that, MSeq<EnumGene<SeatCore>> other) {
@@ -43,23 +57,15 @@ public class TeamSwapMutator extends Mutator<EnumGene<SeatCore>, Double> {
 
     //Choosing the Chromosome index for crossover.
     final int chIndex1 = random.nextInt(genotype.length());
-    int chIndex2 = random.nextInt(genotype.length());
+    final int chIndex2 = TeamSizeBuckets.of(genotype).randomPartner(chIndex1, random);
+    // team indexes are chromosome indexes only in the factories' layout, skip genotypes laid out otherwise
+    if (chIndex2 == TeamSizeBuckets.NONE || genotype.get(chIndex1).length() != genotype.get(chIndex2).length()) {
+      return MutatorResult.of(phenotype);
+    }
 
     final MSeq<EnumGene<SeatCore>> genes1 = genotype.get(chIndex1).toSeq().copy();
     ISeq<EnumGene<SeatCore>> genes2 = genotype.get(chIndex2).toSeq();
 
-    int i = 0;
-    while (genes2.length() != genes1.length() && i < maxSizeRetries) {
-      i++;
-
-      chIndex2 = random.nextInt(genotype.length());
-      genes2 = genotype.get(chIndex2).toSeq();
-    }
-
-    if (genes2.length() != genes1.length()) {
-      return MutatorResult.of(phenotype);
-    }
-
     MSeq<EnumGene<SeatCore>> genes2Mut = genes2.asMSeq();
     swap(genes1, genes2Mut);
 
@@ -67,6 +73,6 @@ public class TeamSwapMutator extends Mutator<EnumGene<SeatCore>, Double> {
     chromosomes.set(chIndex1, genotype.get(chIndex1).newInstance(genes1.toISeq()));
     chromosomes.set(chIndex2, genotype.get(chIndex2).newInstance(genes2Mut.toISeq()));
 
-    return MutatorResult.of(phenotype.newInstance(Genotype.of(chromosomes)));
+    return MutatorResult.of(phenotype.newInstance(GenotypeLineage.derive(genotype, chromosomes)));
   }
 }
@@ -0,0 +1,200 @@
+package com.hubspot.seatsolver.genetic.compact;
+
+import java.util.Arrays;
+
+import com.google.common.base.MoreObjects;
+import com.google.common.base.Preconditions;
+
+/**
+ * A seat assignment as flat int arrays: the team of every seat, and every team's seats grouped by team
+ * index and sorted within the team. Team indexes follow {@link com.hubspot.seatsolver.fitness.TeamIndex}.
+ *
+ * Instances are immutable, the mutating operations return copies. Team sizes never change so copies
+ * share the offsets array.
+ */
+public final class CompactAssignment {
+  public static final int EMPTY = -1;
+
+  private final int[] seatToTeam;
+  private final int[] teamOffsets;
+  private final int[] teamSeats;
+
+  private CompactAssignment(int[] seatToTeam, int[] teamOffsets, int[] teamSeats) {
+    this.seatToTeam = seatToTeam;
+    this.teamOffsets = teamOffsets;
+    this.teamSeats = teamSeats;
+  }
+
+  /**
+   * @param seatsByTeam the seat indexes of each team, in team index order
+   */
+  public static CompactAssignment of(int seatCount, int[][] seatsByTeam) {
+    int[] seatToTeam = new int[seatCount];
+    Arrays.fill(seatToTeam, EMPTY);
+
+    int[] teamOffsets = new int[seatsByTeam.length + 1];
+    for (int team = 0; team < seatsByTeam.length; team++) {
+      teamOffsets[team + 1] = teamOffsets[team] + seatsByTeam[team].length;
+    }
+
+    int[] teamSeats = new int[teamOffsets[seatsByTeam.length]];
+    for (int team = 0; team < seatsByTeam.length; team++) {
+      int[] seats = seatsByTeam[team];
+      for (int seat : seats) {
+        Preconditions.checkArgument(seatToTeam[seat] == EMPTY, "Seat %s assigned to more than one team", seat);
+        seatToTeam[seat] = team;
+      }
+      System.arraycopy(seats, 0, teamSeats, teamOffsets[team], seats.length);
+      Arrays.sort(teamSeats, teamOffsets[team], teamOffsets[team + 1]);
+    }
+
+    return new CompactAssignment(seatToTeam, teamOffsets, teamSeats);
+  }
+
+  public int seatCount() {
+    return seatToTeam.length;
+  }
+
+  public int teamCount() {
+    return teamOffsets.length - 1;
+  }
+
+  /**
+   * @return the team index seated at the seat, or {@link #EMPTY}
+   */
+  public int teamOf(int seat) {
+    return seatToTeam[seat];
+  }
+
+  public int teamSize(int team) {
+    return teamOffsets[team + 1] - teamOffsets[team];
+  }
+
+  /**
+   * The team's seats are {@code getTeamSeats()[teamStart(team)]} until {@code teamStart(team + 1)}
+   */
+  public int teamStart(int team) {
+    return teamOffsets[team];
+  }
+
+  /**
+   * Exposed so hot loops can read seats without copying, do not modify
+   */
+  public int[] getTeamSeats() {
+    return teamSeats;
+  }
+
+  public int[] getSeats(int team) {
+    return Arrays.copyOfRange(teamSeats, teamOffsets[team], teamOffsets[team + 1]);
+  }
+
+  /**
+   * The same teams in other seats, given grouped by team like {@link #getTeamSeats()}
+   */
+  public CompactAssignment withTeamSeats(int[] seats) {
+    Preconditions.checkArgument(
+        seats.length == teamSeats.length,
+        "Expected %s seats, got %s",
+        teamSeats.length,
+        seats.length
+    );
+
+    int[] newSeatToTeam = new int[seatToTeam.length];
+    Arrays.fill(newSeatToTeam, EMPTY);
+    int[] newTeamSeats = seats.clone();
+    for (int team = 0; team < teamCount(); team++) {
+      for (int i = teamOffsets[team]; i < teamOffsets[team + 1]; i++) {
+        Preconditions.checkArgument(newSeatToTeam[newTeamSeats[i]] == EMPTY, "Seat %s assigned to more than one team", newTeamSeats[i]);
+        newSeatToTeam[newTeamSeats[i]] = team;
+      }
+      Arrays.sort(newTeamSeats, teamOffsets[team], teamOffsets[team + 1]);
+    }
+
+    return new CompactAssignment(newSeatToTeam, teamOffsets, newTeamSeats);
+  }
+
+  /**
+   * Exchange the seats of two teams of the same size
+   */
+  public CompactAssignment withTeamsSwapped(int team, int other) {
+    Preconditions.checkArgument(
+        teamSize(team) == teamSize(other),
+        "Can only swap teams of the same size (%s != %s)",
+        teamSize(team),
+        teamSize(other)
+    );
+
+    int[] newSeatToTeam = seatToTeam.clone();
+    int[] newTeamSeats = teamSeats.clone();
+    int start = teamOffsets[team];
+    int otherStart = teamOffsets[other];
+    for (int i = 0; i < teamSize(team); i++) {
+      int seat = teamSeats[start + i];
+      int otherSeat = teamSeats[otherStart + i];
+      newTeamSeats[start + i] = otherSeat;
+      newTeamSeats[otherStart + i] = seat;
+      newSeatToTeam[otherSeat] = team;
+      newSeatToTeam[seat] = other;
+    }
+    // both slices were sorted, so they still are
+    return new CompactAssignment(newSeatToTeam, teamOffsets, newTeamSeats);
+  }
+
+  /**
+   * Move the team out of one of its seats into an empty seat
+   */
+  public CompactAssignment withSeatMoved(int team, int seat, int emptySeat) {
+    Preconditions.checkArgument(seatToTeam[seat] == team, "Seat %s does not belong to team %s", seat, team);
+    Preconditions.checkArgument(seatToTeam[emptySeat] == EMPTY, "Seat %s is not empty", emptySeat);
+
+    int[] newSeatToTeam = seatToTeam.clone();
+    newSeatToTeam[seat] = EMPTY;
+    newSeatToTeam[emptySeat] = team;
+
+    int[] newTeamSeats = teamSeats.clone();
+    int start = teamOffsets[team];
+    int end = teamOffsets[team + 1];
+    int position = Arrays.binarySearch(teamSeats, start, end, seat);
+    // shift the seats between the old and new position to keep the slice sorted
+    if (emptySeat > seat) {
+      while (position + 1 < end && newTeamSeats[position + 1] < emptySeat) {
+        newTeamSeats[position] = newTeamSeats[position + 1];
+        position++;
+      }
+    } else {
+      while (position > start && newTeamSeats[position - 1] > emptySeat) {
+        newTeamSeats[position] = newTeamSeats[position - 1];
+        position--;
+      }
+    }
+    newTeamSeats[position] = emptySeat;
+
+    return new CompactAssignment(newSeatToTeam, teamOffsets, newTeamSeats);
+  }
+
+  @Override
+  public boolean equals(Object o) {
+    if (this == o) {
+      return true;
+    }
+    if (o == null || getClass() != o.getClass()) {
+      return false;
+    }
+    CompactAssignment that = (CompactAssignment) o;
+    return Arrays.equals(seatToTeam, that.seatToTeam) && Arrays.equals(teamOffsets, that.teamOffsets);
+  }
+
+  @Override
+  public int hashCode() {
+    return Arrays.hashCode(seatToTeam);
+  }
+
+  @Override
+  public String toString() {
+    return MoreObjects.toStringHelper(this)
+        .add("seats", seatCount())
+        .add("teams", teamCount())
+        .add("seatToTeam", Arrays.toString(seatToTeam))
+        .toString();
+  }
+}
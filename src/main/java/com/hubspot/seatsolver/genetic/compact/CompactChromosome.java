@@ -0,0 +1,104 @@
+package com.hubspot.seatsolver.genetic.compact;
+
+import com.google.common.base.MoreObjects;
+import com.hubspot.seatsolver.model.SeatCore;
+
+import io.jenetics.Chromosome;
+import io.jenetics.EnumGene;
+import io.jenetics.util.ISeq;
+import io.jenetics.util.MSeq;
+
+/**
+ * The whole assignment of a compact genotype, which has this as its only chromosome. Genes are the
+ * assigned seats grouped by team, made on demand: the individual itself is just the assignment's arrays,
+ * and the compact mutators work on those directly.
+ */
+public final class CompactChromosome implements Chromosome<EnumGene<SeatCore>> {
+  private final CompactAssignment assignment;
+  private final CompactGenotypes genotypes;
+
+  CompactChromosome(CompactAssignment assignment, CompactGenotypes genotypes) {
+    this.assignment = assignment;
+    this.genotypes = genotypes;
+  }
+
+  public CompactAssignment getAssignment() {
+    return assignment;
+  }
+
+  public CompactGenotypes getGenotypes() {
+    return genotypes;
+  }
+
+  public CompactChromosome newInstance(CompactAssignment assignment) {
+    return new CompactChromosome(assignment, genotypes);
+  }
+
+  @Override
+  public EnumGene<SeatCore> getGene(int index) {
+    return EnumGene.of(assignment.getTeamSeats()[index], genotypes.getSeats());
+  }
+
+  @Override
+  public int length() {
+    return assignment.getTeamSeats().length;
+  }
+
+  /**
+   * @param genes seats grouped by team, in the layout of {@link CompactAssignment#getTeamSeats()}
+   */
+  @Override
+  public Chromosome<EnumGene<SeatCore>> newInstance(ISeq<EnumGene<SeatCore>> genes) {
+    int[] seats = new int[genes.size()];
+    for (int i = 0; i < seats.length; i++) {
+      seats[i] = genes.get(i).getAlleleIndex();
+    }
+    return newInstance(assignment.withTeamSeats(seats));
+  }
+
+  /**
+   * A random assignment of the same teams, like {@link CompactGenotypeFactory} makes
+   */
+  @Override
+  public Chromosome<EnumGene<SeatCore>> newInstance() {
+    return newInstance(genotypes.randomAssignment());
+  }
+
+  @Override
+  public ISeq<EnumGene<SeatCore>> toSeq() {
+    int[] seats = assignment.getTeamSeats();
+    MSeq<EnumGene<SeatCore>> genes = MSeq.ofLength(seats.length);
+    for (int i = 0; i < seats.length; i++) {
+      genes.set(i, EnumGene.of(seats[i], genotypes.getSeats()));
+    }
+    return genes.toISeq();
+  }
+
+  @Override
+  public boolean isValid() {
+    return true;
+  }
+
+  @Override
+  public boolean equals(Object o) {
+    if (this == o) {
+      return true;
+    }
+    if (o == null || getClass() != o.getClass()) {
+      return false;
+    }
+    return assignment.equals(((CompactChromosome) o).assignment);
+  }
+
+  @Override
+  public int hashCode() {
+    return assignment.hashCode();
+  }
+
+  @Override
+  public String toString() {
+    return MoreObjects.toStringHelper(this)
+        .add("assignment", assignment)
+        .toString();
+  }
+}
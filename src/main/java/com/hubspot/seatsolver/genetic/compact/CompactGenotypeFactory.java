@@ -0,0 +1,29 @@
+package com.hubspot.seatsolver.genetic.compact;
+
+import com.google.inject.Inject;
+import com.google.inject.Singleton;
+import com.hubspot.seatsolver.genetic.GreedySeatGenotypeFactory;
+import com.hubspot.seatsolver.model.SeatCore;
+
+import io.jenetics.EnumGene;
+import io.jenetics.Genotype;
+import io.jenetics.util.Factory;
+
+/**
+ * Seats teams like {@link GreedySeatGenotypeFactory} and keeps only the compact assignment, the
+ * chromosomes it was built from are dropped right away
+ */
+@Singleton
+public class CompactGenotypeFactory implements Factory<Genotype<EnumGene<SeatCore>>> {
+  private final CompactGenotypes compactGenotypes;
+
+  @Inject
+  public CompactGenotypeFactory(CompactGenotypes compactGenotypes) {
+    this.compactGenotypes = compactGenotypes;
+  }
+
+  @Override
+  public Genotype<EnumGene<SeatCore>> newInstance() {
+    return compactGenotypes.wrap(compactGenotypes.randomAssignment());
+  }
+}
@@ -0,0 +1,229 @@
+package com.hubspot.seatsolver.genetic.compact;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+import com.google.common.base.Preconditions;
+import com.google.inject.Inject;
+import com.google.inject.Singleton;
+import com.hubspot.seatsolver.config.SeatSolverConfig;
+import com.hubspot.seatsolver.fitness.TeamIndex;
+import com.hubspot.seatsolver.genetic.EmptySeatChromosome;
+import com.hubspot.seatsolver.genetic.GreedySeatGenotypeFactory;
+import com.hubspot.seatsolver.genetic.TeamChromosome;
+import com.hubspot.seatsolver.genetic.TeamCostCache;
+import com.hubspot.seatsolver.genetic.TeamSizeBuckets;
+import com.hubspot.seatsolver.grid.SeatGrid;
+import com.hubspot.seatsolver.model.SeatCore;
+import com.hubspot.seatsolver.model.TeamCore;
+
+import io.jenetics.Chromosome;
+import io.jenetics.EnumGene;
+import io.jenetics.Genotype;
+import io.jenetics.util.ISeq;
+import io.jenetics.util.MSeq;
+
+/**
+ * Converts between {@link CompactAssignment}s, compact genotypes and chromosome genotypes, and validates
+ * compact assignments with the same rules as {@link com.hubspot.seatsolver.genetic.SeatGenotypeValidator}.
+ */
+@Singleton
+public class CompactGenotypes {
+  private final ISeq<SeatCore> seats;
+  private final List<TeamCore> teams;
+  private final TeamIndex teamIndex;
+  private final SeatGrid grid;
+  private final TeamCostCache costCache;
+  private final TeamSizeBuckets teamSizeBuckets;
+  private final GreedySeatGenotypeFactory genotypeFactory;
+  private final boolean compactEncoding;
+  private final Map<SeatCore, Integer> seatIndex;
+  private final ThreadLocal<BitSet> reached;
+
+  @Inject
+  public CompactGenotypes(SeatSolverConfig config,
+                          ISeq<SeatCore> seats,
+                          List<TeamCore> teams,
+                          TeamIndex teamIndex,
+                          SeatGrid grid,
+                          TeamCostCache costCache,
+                          TeamSizeBuckets teamSizeBuckets,
+                          GreedySeatGenotypeFactory genotypeFactory) {
+    this.seats = seats;
+    this.teams = teams;
+    this.teamIndex = teamIndex;
+    this.grid = grid;
+    this.costCache = costCache;
+    this.teamSizeBuckets = teamSizeBuckets;
+    this.genotypeFactory = genotypeFactory;
+    this.compactEncoding = config.compactEncoding();
+    this.seatIndex = new IdentityHashMap<>(seats.size());
+    for (int i = 0; i < seats.size(); i++) {
+      seatIndex.put(seats.get(i), i);
+    }
+    this.reached = ThreadLocal.withInitial(() -> new BitSet(seats.size()));
+  }
+
+  public ISeq<SeatCore> getSeats() {
+    return seats;
+  }
+
+  public SeatGrid getGrid() {
+    return grid;
+  }
+
+  public TeamSizeBuckets getTeamSizeBuckets() {
+    return teamSizeBuckets;
+  }
+
+  /**
+   * A new random assignment, seated like {@link GreedySeatGenotypeFactory} seats teams
+   */
+  public CompactAssignment randomAssignment() {
+    return encode(genotypeFactory.newInstance());
+  }
+
+  public static boolean isCompact(Genotype<EnumGene<SeatCore>> genotype) {
+    return genotype.length() == 1 && genotype.get(0) instanceof CompactChromosome;
+  }
+
+  /**
+   * A genotype holding just the assignment, the form evolved with {@link SeatSolverConfig#compactEncoding()}
+   */
+  public Genotype<EnumGene<SeatCore>> wrap(CompactAssignment assignment) {
+    return Genotype.of(new CompactChromosome(assignment, this));
+  }
+
+  /**
+   * The assignment as a genotype of the form this solver evolves, compact or chromosomes
+   */
+  public Genotype<EnumGene<SeatCore>> toGenotype(CompactAssignment assignment) {
+    return compactEncoding ? wrap(assignment) : decode(assignment);
+  }
+
+  /**
+   * The chromosome form of a compact genotype, other genotypes are returned as they are
+   */
+  public Genotype<EnumGene<SeatCore>> expand(Genotype<EnumGene<SeatCore>> genotype) {
+    return isCompact(genotype) ? decode(((CompactChromosome) genotype.get(0)).getAssignment()) : genotype;
+  }
+
+  /**
+   * @throws IllegalArgumentException if a team is missing, repeated or not in the team list, or a seat is
+   * used by more than one team
+   */
+  public CompactAssignment encode(Genotype<EnumGene<SeatCore>> genotype) {
+    if (isCompact(genotype)) {
+      return ((CompactChromosome) genotype.get(0)).getAssignment();
+    }
+
+    int[][] seatsByTeam = new int[teamIndex.size()][];
+    for (int i = 0; i < genotype.length(); i++) {
+      Chromosome<EnumGene<SeatCore>> chromosome = genotype.get(i);
+      if (!(chromosome instanceof TeamChromosome)) {
+        continue;
+      }
+
+      TeamCore team = ((TeamChromosome) chromosome).getTeam();
+      int index = teamIndex.indexOf(team);
+      Preconditions.checkArgument(index >= 0, "Unknown team %s", team.id());
+      Preconditions.checkArgument(seatsByTeam[index] == null, "Team %s has more than one chromosome", team.id());
+
+      int[] teamSeats = new int[chromosome.length()];
+      for (int j = 0; j < teamSeats.length; j++) {
+        teamSeats[j] = chromosome.getGene(j).getAlleleIndex();
+      }
+      seatsByTeam[index] = teamSeats;
+    }
+
+    for (int team = 0; team < seatsByTeam.length; team++) {
+      Preconditions.checkArgument(seatsByTeam[team] != null, "Team %s has no chromosome", teams.get(team).id());
+    }
+
+    return CompactAssignment.of(seats.size(), seatsByTeam);
+  }
+
+  /**
+   * Expand to the chromosome form, for the writers and anything else that needs a {@link Genotype}
+   */
+  public Genotype<EnumGene<SeatCore>> decode(CompactAssignment assignment) {
+    List<Chromosome<EnumGene<SeatCore>>> chromosomes = new ArrayList<>(assignment.teamCount() + 1);
+    int[] teamSeats = assignment.getTeamSeats();
+    for (int team = 0; team < assignment.teamCount(); team++) {
+      int start = assignment.teamStart(team);
+      BitSet used = new BitSet(seats.size());
+      MSeq<EnumGene<SeatCore>> genes = MSeq.ofLength(assignment.teamSize(team));
+      for (int i = 0; i < genes.length(); i++) {
+        used.set(teamSeats[start + i]);
+        genes.set(i, EnumGene.of(teamSeats[start + i], seats));
+      }
+      chromosomes.add(new TeamChromosome(genes.toISeq(), used, grid, seats, seatIndex, costCache, teams.get(team)));
+    }
+
+    BitSet empty = new BitSet(seats.size());
+    for (int seat = 0; seat < assignment.seatCount(); seat++) {
+      if (assignment.teamOf(seat) == CompactAssignment.EMPTY) {
+        empty.set(seat);
+      }
+    }
+    EmptySeatChromosome.create(seats, empty).ifPresent(chromosomes::add);
+
+    return Genotype.of(chromosomes);
+  }
+
+  public boolean isValid(Genotype<EnumGene<SeatCore>> genotype) {
+    return isValid(encode(genotype));
+  }
+
+  /**
+   * Every team has its member count of seats, all connected, and at least one seat is left empty
+   */
+  public boolean isValid(CompactAssignment assignment) {
+    int assigned = 0;
+    for (int team = 0; team < assignment.teamCount(); team++) {
+      if (assignment.teamSize(team) != teams.get(team).numMembers() || !isConnected(assignment, team)) {
+        return false;
+      }
+      assigned += assignment.teamSize(team);
+    }
+    return assigned < assignment.seatCount();
+  }
+
+  private boolean isConnected(CompactAssignment assignment, int team) {
+    int size = assignment.teamSize(team);
+    if (size <= 1) {
+      return true;
+    }
+
+    int[] teamSeats = assignment.getTeamSeats();
+    int start = assignment.teamStart(team);
+    int[] offsets = grid.getAdjacencyOffsets();
+    int[] neighbors = grid.getAdjacencyNeighbors();
+    BitSet reached = this.reached.get();
+
+    // Breadth first from the lowest seat, the queue doubles as the list of bits to reset afterwards
+    int[] queue = new int[size];
+    queue[0] = teamSeats[start];
+    reached.set(queue[0]);
+    int head = 0;
+    int tail = 1;
+    while (head < tail) {
+      int seat = queue[head++];
+      for (int i = offsets[seat]; i < offsets[seat + 1]; i++) {
+        int neighbor = neighbors[i];
+        if (assignment.teamOf(neighbor) == team && !reached.get(neighbor)) {
+          reached.set(neighbor);
+          queue[tail++] = neighbor;
+        }
+      }
+    }
+
+    for (int i = 0; i < tail; i++) {
+      reached.clear(queue[i]);
+    }
+    return tail == size;
+  }
+}
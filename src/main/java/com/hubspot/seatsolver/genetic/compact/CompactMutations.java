@@ -0,0 +1,71 @@
+package com.hubspot.seatsolver.genetic.compact;
+
+import java.util.Random;
+
+import com.hubspot.seatsolver.genetic.TeamSizeBuckets;
+import com.hubspot.seatsolver.grid.SeatGrid;
+
+/**
+ * Mutation operators on {@link CompactAssignment}s. They touch only the arrays of the teams involved,
+ * and return the assignment itself when no mutation applies.
+ */
+public final class CompactMutations {
+
+  private CompactMutations() {
+  }
+
+  /**
+   * Exchange the seats of two random teams of the same size, like
+   * {@link com.hubspot.seatsolver.genetic.alter.TeamSwapMutator}
+   */
+  public static CompactAssignment swapTeams(CompactAssignment assignment, TeamSizeBuckets buckets, Random random) {
+    if (assignment.teamCount() < 2) {
+      return assignment;
+    }
+
+    int team = random.nextInt(assignment.teamCount());
+    int other = buckets.randomPartner(team, random);
+    if (other == TeamSizeBuckets.NONE || assignment.teamSize(other) != assignment.teamSize(team)) {
+      return assignment;
+    }
+    return assignment.withTeamsSwapped(team, other);
+  }
+
+  /**
+   * Move one seat of a random team into an empty seat bordering the team. The vacated seat may leave
+   * the team disconnected, which validation rejects.
+   */
+  public static CompactAssignment moveToAdjacentEmptySeat(CompactAssignment assignment, SeatGrid grid, Random random) {
+    if (assignment.teamCount() == 0) {
+      return assignment;
+    }
+
+    int team = random.nextInt(assignment.teamCount());
+    int size = assignment.teamSize(team);
+    if (size == 0) {
+      return assignment;
+    }
+
+    int[] teamSeats = assignment.getTeamSeats();
+    int start = assignment.teamStart(team);
+    int[] offsets = grid.getAdjacencyOffsets();
+    int[] neighbors = grid.getAdjacencyNeighbors();
+
+    // Reservoir sample over the empty neighbors, a seat bordering several team seats is proportionally likelier
+    int target = -1;
+    int candidates = 0;
+    for (int i = start; i < start + size; i++) {
+      int seat = teamSeats[i];
+      for (int j = offsets[seat]; j < offsets[seat + 1]; j++) {
+        if (assignment.teamOf(neighbors[j]) == CompactAssignment.EMPTY && random.nextInt(++candidates) == 0) {
+          target = neighbors[j];
+        }
+      }
+    }
+
+    if (target < 0) {
+      return assignment;
+    }
+    return assignment.withSeatMoved(team, teamSeats[start + random.nextInt(size)], target);
+  }
+}
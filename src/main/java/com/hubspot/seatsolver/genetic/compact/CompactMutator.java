@@ -0,0 +1,48 @@
+package com.hubspot.seatsolver.genetic.compact;
+
+import java.util.Random;
+
+import com.hubspot.seatsolver.model.SeatCore;
+
+import io.jenetics.EnumGene;
+import io.jenetics.Genotype;
+import io.jenetics.Mutator;
+import io.jenetics.MutatorResult;
+import io.jenetics.Phenotype;
+import io.jenetics.internal.math.probability;
+
+/**
+ * A mutator of compact genotypes, applying one of {@link CompactMutations} to the assignment
+ */
+public abstract class CompactMutator extends Mutator<EnumGene<SeatCore>, Double> {
+
+  protected CompactMutator(double probability) {
+    super(probability);
+  }
+
+  /**
+   * @return the mutated assignment, or the assignment itself when no mutation applies
+   */
+  protected abstract CompactAssignment mutate(CompactAssignment assignment, CompactGenotypes genotypes, Random random);
+
+  @Override
+  protected MutatorResult<Phenotype<EnumGene<SeatCore>, Double>> mutate(
+      final Phenotype<EnumGene<SeatCore>, Double> phenotype,
+      final long generation,
+      final double p,
+      final Random random
+  ) {
+    final int P = probability.toInt(p);
+    if (random.nextInt() >= P) {
+      return MutatorResult.of(phenotype);
+    }
+
+    CompactChromosome chromosome = (CompactChromosome) phenotype.getGenotype().get(0);
+    CompactAssignment mutated = mutate(chromosome.getAssignment(), chromosome.getGenotypes(), random);
+    if (mutated == chromosome.getAssignment()) {
+      return MutatorResult.of(phenotype);
+    }
+
+    return MutatorResult.of(phenotype.newInstance(Genotype.of(chromosome.newInstance(mutated))));
+  }
+}
@@ -0,0 +1,30 @@
+package com.hubspot.seatsolver.genetic.compact;
+
+import java.util.Random;
+
+import com.hubspot.seatsolver.genetic.alter.RescalableAlterer;
+import com.hubspot.seatsolver.model.SeatCore;
+
+import io.jenetics.EnumGene;
+
+/**
+ * Moves a seat of a random team into an empty seat bordering it, see
+ * {@link CompactMutations#moveToAdjacentEmptySeat}
+ */
+public class CompactSeatMoveMutator extends CompactMutator
+    implements RescalableAlterer<EnumGene<SeatCore>, Double> {
+
+  public CompactSeatMoveMutator(double probability) {
+    super(probability);
+  }
+
+  @Override
+  public CompactSeatMoveMutator withProbability(double probability) {
+    return new CompactSeatMoveMutator(probability);
+  }
+
+  @Override
+  protected CompactAssignment mutate(CompactAssignment assignment, CompactGenotypes genotypes, Random random) {
+    return CompactMutations.moveToAdjacentEmptySeat(assignment, genotypes.getGrid(), random);
+  }
+}
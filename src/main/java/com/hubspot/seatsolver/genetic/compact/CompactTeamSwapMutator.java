@@ -0,0 +1,29 @@
+package com.hubspot.seatsolver.genetic.compact;
+
+import java.util.Random;
+
+import com.hubspot.seatsolver.genetic.alter.RescalableAlterer;
+import com.hubspot.seatsolver.model.SeatCore;
+
+import io.jenetics.EnumGene;
+
+/**
+ * {@link com.hubspot.seatsolver.genetic.alter.TeamSwapMutator} for compact genotypes
+ */
+public class CompactTeamSwapMutator extends CompactMutator
+    implements RescalableAlterer<EnumGene<SeatCore>, Double> {
+
+  public CompactTeamSwapMutator(double probability) {
+    super(probability);
+  }
+
+  @Override
+  public CompactTeamSwapMutator withProbability(double probability) {
+    return new CompactTeamSwapMutator(probability);
+  }
+
+  @Override
+  protected CompactAssignment mutate(CompactAssignment assignment, CompactGenotypes genotypes, Random random) {
+    return CompactMutations.swapTeams(assignment, genotypes.getTeamSizeBuckets(), random);
+  }
+}
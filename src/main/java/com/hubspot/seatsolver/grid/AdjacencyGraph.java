@@ -0,0 +1,26 @@
+package com.hubspot.seatsolver.grid;
+
+/**
+ * Seat adjacency in compressed sparse row form, see {@link SeatGrid#getAdjacencyOffsets()}
+ */
+class AdjacencyGraph {
+  private final int[] offsets;
+  private final int[] neighbors;
+
+  AdjacencyGraph(int[] offsets, int[] neighbors) {
+    this.offsets = offsets;
+    this.neighbors = neighbors;
+  }
+
+  int[] getOffsets() {
+    return offsets;
+  }
+
+  int[] getNeighbors() {
+    return neighbors;
+  }
+
+  int size() {
+    return offsets.length - 1;
+  }
+}
@@ -0,0 +1,86 @@
+package com.hubspot.seatsolver.grid;
+
+import java.util.List;
+
+import com.hubspot.seatsolver.model.SeatCore;
+
+/**
+ * Seat to seat distances keyed by seat index (the position of the seat in the seat list,
+ * which is also the {@link io.jenetics.EnumGene} allele index).
+ *
+ * Small floors get a precomputed triangular matrix. For large floors the matrix would not fit
+ * comfortably in memory, so distances are computed on demand from primitive coordinate arrays. Both
+ * give the same doubles, so fitness and tie breaking don't depend on the floor size.
+ */
+public class SeatDistances {
+  // 2896 seats is a ~32MB matrix
+  private static final int DENSE_MAX_SEATS = 2896;
+
+  private final int size;
+  private final double[] xs;
+  private final double[] ys;
+  private final double[] dense;
+  private final int[] rowOffsets;
+
+  public SeatDistances(List<? extends SeatCore> seats) {
+    this.size = seats.size();
+    this.xs = new double[size];
+    this.ys = new double[size];
+    for (int i = 0; i < size; i++) {
+      xs[i] = seats.get(i).x();
+      ys[i] = seats.get(i).y();
+    }
+
+    if (size <= DENSE_MAX_SEATS) {
+      this.rowOffsets = new int[size];
+      this.dense = new double[size * (size - 1) / 2 + 1];
+      int offset = 0;
+      for (int i = 0; i < size; i++) {
+        // row i holds the distances to seats i + 1 .. size - 1
+        rowOffsets[i] = offset - i - 1;
+        for (int j = i + 1; j < size; j++) {
+          dense[offset++] = compute(i, j);
+        }
+      }
+    } else {
+      this.rowOffsets = null;
+      this.dense = null;
+    }
+  }
+
+  public int size() {
+    return size;
+  }
+
+  public boolean isDense() {
+    return dense != null;
+  }
+
+  public double x(int seat) {
+    return xs[seat];
+  }
+
+  public double y(int seat) {
+    return ys[seat];
+  }
+
+  public double distance(int a, int b) {
+    if (a == b) {
+      return 0;
+    }
+    if (dense == null) {
+      return compute(a, b);
+    }
+    return a < b ? dense[rowOffsets[a] + b] : dense[rowOffsets[b] + a];
+  }
+
+  public double distance(int seat, double x, double y) {
+    double dx = xs[seat] - x;
+    double dy = ys[seat] - y;
+    return Math.sqrt(dx * dx + dy * dy);
+  }
+
+  private double compute(int a, int b) {
+    return distance(a, xs[b], ys[b]);
+  }
+}
@@ -1,26 +1,27 @@
 package com.hubspot.seatsolver.grid;
 
-import java.util.ArrayList;
-import java.util.Collection;
-import java.util.HashSet;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.IdentityHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
 import java.util.Set;
-import java.util.stream.Collectors;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import com.github.varunpant.quadtree.QuadTree;
-import com.google.common.collect.HashMultimap;
+import com.google.common.base.Stopwatch;
 import com.google.common.collect.ImmutableSetMultimap;
 import com.google.common.collect.SetMultimap;
+import com.google.common.hash.HashCode;
 import com.google.inject.Inject;
 import com.google.inject.Singleton;
 import com.hubspot.seatsolver.config.SeatSolverConfig;
-import com.hubspot.seatsolver.model.Point;
-import com.hubspot.seatsolver.model.PointBase;
 import com.hubspot.seatsolver.model.SeatCore;
-import com.hubspot.seatsolver.utils.PointUtils;
 
 @Singleton
 public class SeatGrid {
@@ -28,18 +29,31 @@ public class SeatGrid {
 
   private static final int SEAT_WIDTH = 12;
   private static final int SEAT_HEIGHT = 14;
+  private static final double HALF_SEAT_WIDTH = SEAT_WIDTH / 2;
+  private static final double HALF_SEAT_HEIGHT = SEAT_HEIGHT / 2;
+  // 16k seats is 32MB of adjacency bitsets, past that only the CSR form is kept
+  private static final int MAX_BITSET_SEATS = 16384;
 
-  private final QuadTree<SeatCore> seatQuadTree;
   private final SetMultimap<SeatCore, SeatCore> adjacencyMap;
+  private final SeatCore[] seats;
+  private final Map<SeatCore, Integer> seatIndex;
+  private final int[] adjacencyOffsets;
+  private final int[] adjacencyNeighbors;
+  private final long[][] adjacencyBits;
+  private final SeatDistances distances;
+  private final HashCode inputKey;
   private final double gridSizeX;
   private final double gridSizeY;
   private final int size;
   private final int maxAdjOffset;
+  private final ThreadLocal<FloodFill> floodFills;
 
   @Inject
   public SeatGrid(List<SeatCore> seats, SeatSolverConfig config) {
+    Stopwatch stopwatch = Stopwatch.createStarted();
     this.maxAdjOffset = config.seatSolverParams().maxAdjacentSeatDistance();
     this.size = seats.size();
+    this.floodFills = ThreadLocal.withInitial(() -> new FloodFill(size));
     double maxX = 0;
     double maxY = 0;
     for (SeatCore seat : seats) {
@@ -55,31 +69,251 @@ public class SeatGrid {
     this.gridSizeX = maxX + 1;
     this.gridSizeY = maxY + 1;
 
-    this.seatQuadTree = new QuadTree<>(0, 0, maxX, maxY);
+    this.distances = new SeatDistances(seats);
+    this.seats = seats.toArray(new SeatCore[0]);
+    this.seatIndex = new IdentityHashMap<>(size);
+    for (int i = 0; i < size; i++) {
+      seatIndex.put(this.seats[i], i);
+    }
+
+    Optional<SeatGridCache> gridCache = config.gridCacheDirectory().map(SeatGridCache::new);
+    HashCode cacheKey = SeatGridCache.key(seats, maxAdjOffset, SEAT_WIDTH, SEAT_HEIGHT);
+    this.inputKey = cacheKey;
+
+    Optional<AdjacencyGraph> cached = gridCache.flatMap(cache -> cache.load(cacheKey, size));
+    AdjacencyGraph graph;
+    if (cached.isPresent()) {
+      graph = cached.get();
+    } else {
+      graph = computeAdjacency(seats, maxX, maxY);
+      gridCache.ifPresent(cache -> cache.store(cacheKey, graph));
+    }
+
+    this.adjacencyOffsets = graph.getOffsets();
+    this.adjacencyNeighbors = graph.getNeighbors();
+
+    if (size <= MAX_BITSET_SEATS) {
+      int words = (size + 63) >>> 6;
+      this.adjacencyBits = new long[size][words];
+      for (int i = 0; i < size; i++) {
+        for (int j = adjacencyOffsets[i]; j < adjacencyOffsets[i + 1]; j++) {
+          adjacencyBits[i][adjacencyNeighbors[j] >>> 6] |= 1L << adjacencyNeighbors[j];
+        }
+      }
+    } else {
+      this.adjacencyBits = null;
+    }
+
+    ImmutableSetMultimap.Builder<SeatCore, SeatCore> adjMap = ImmutableSetMultimap.builder();
+    for (int i = 0; i < size; i++) {
+      for (int j = adjacencyOffsets[i]; j < adjacencyOffsets[i + 1]; j++) {
+        adjMap.put(this.seats[i], this.seats[adjacencyNeighbors[j]]);
+      }
+    }
+    this.adjacencyMap = adjMap.build();
+
+    logNeighborCounts(cached.isPresent() ? "Loaded" : "Built", stopwatch.elapsed(TimeUnit.MILLISECONDS));
+  }
+
+  private AdjacencyGraph computeAdjacency(List<SeatCore> seats, double maxX, double maxY) {
+    QuadTree<SeatCore> seatQuadTree = new QuadTree<>(0, 0, maxX, maxY);
     seats.forEach(seat -> seatQuadTree.set(seat.x(), seat.y(), seat));
 
-    HashMultimap<SeatCore, SeatCore> adjMap = HashMultimap.create();
-    seats.forEach(seat -> {
-      Set<SeatCore> adj = findAllAdjacent(seat);
-      adjMap.putAll(seat, adj);
-    });
+    // Each seat's neighbors are independent of the others, so spread them over the ForkJoin common pool
+    int[][] neighbors = new int[size][];
+    IntStream.range(0, size)
+        .parallel()
+        .forEach(seat -> neighbors[seat] = findAllAdjacent(seat, seatQuadTree));
+    symmetrize(neighbors);
+
+    int[] offsets = new int[size + 1];
+    int offset = 0;
+    for (int i = 0; i < size; i++) {
+      offsets[i] = offset;
+      offset += neighbors[i].length;
+    }
+    offsets[size] = offset;
+
+    int[] flatNeighbors = new int[offset];
+    for (int i = 0; i < size; i++) {
+      System.arraycopy(neighbors[i], 0, flatNeighbors, offsets[i], neighbors[i].length);
+    }
+    return new AdjacencyGraph(offsets, flatNeighbors);
+  }
+
+  /**
+   * Occlusion is tested from each seat's own neighborhood, so in rare corner cases a seat is adjacent
+   * one way only. Adjacency is a symmetric relation for everything downstream, add the missing side.
+   */
+  private static void symmetrize(int[][] neighbors) {
+    int[] missing = new int[neighbors.length];
+    for (int seat = 0; seat < neighbors.length; seat++) {
+      for (int neighbor : neighbors[seat]) {
+        if (Arrays.binarySearch(neighbors[neighbor], seat) < 0) {
+          missing[neighbor]++;
+        }
+      }
+    }
+
+    int[][] added = new int[neighbors.length][];
+    for (int seat = 0; seat < neighbors.length; seat++) {
+      if (missing[seat] > 0) {
+        added[seat] = new int[missing[seat]];
+        missing[seat] = 0;
+      }
+    }
+    for (int seat = 0; seat < neighbors.length; seat++) {
+      for (int neighbor : neighbors[seat]) {
+        if (added[neighbor] != null && Arrays.binarySearch(neighbors[neighbor], seat) < 0) {
+          added[neighbor][missing[neighbor]++] = seat;
+        }
+      }
+    }
 
-    this.adjacencyMap = ImmutableSetMultimap.copyOf(adjMap);
+    for (int seat = 0; seat < neighbors.length; seat++) {
+      if (added[seat] != null) {
+        int[] row = Arrays.copyOf(neighbors[seat], neighbors[seat].length + added[seat].length);
+        System.arraycopy(added[seat], 0, row, neighbors[seat].length, added[seat].length);
+        Arrays.sort(row);
+        neighbors[seat] = row;
+      }
+    }
+  }
+
+  private void logNeighborCounts(String action, long elapsedMillis) {
+    int min = size == 0 ? 0 : Integer.MAX_VALUE;
+    int max = 0;
+    for (int i = 0; i < size; i++) {
+      min = Math.min(min, getAdjacentCount(i));
+      max = Math.max(max, getAdjacentCount(i));
+    }
+    LOG.info(
+        "{} seat grid of {} seats in {} ms: {} adjacencies, {} - {} per seat (mean {})",
+        action,
+        size,
+        elapsedMillis,
+        adjacencyNeighbors.length,
+        min,
+        max,
+        size == 0 ? 0 : String.format("%.1f", ((double) adjacencyNeighbors.length) / size)
+    );
   }
 
   public int size() {
     return size;
   }
 
+  public SeatDistances getDistances() {
+    return distances;
+  }
+
   public Set<SeatCore> getAdjacent(SeatCore seat) {
     return adjacencyMap.get(seat);
   }
 
-  private Set<SeatCore> findAllAdjacent(SeatCore seat) {
-    double xMin = seat.x() - maxAdjOffset;
-    double yMin = seat.y() - maxAdjOffset;
-    double xMax = seat.x() + maxAdjOffset;
-    double yMax = seat.y() + maxAdjOffset;
+  /**
+   * Hash of the seats and settings the grid was built from, equal keys mean equal grids and seat indexes
+   */
+  public HashCode getInputKey() {
+    return inputKey;
+  }
+
+  public int indexOf(SeatCore seat) {
+    return seatIndex.get(seat);
+  }
+
+  public SeatCore getSeat(int seat) {
+    return seats[seat];
+  }
+
+  public int getAdjacentCount(int seat) {
+    return adjacencyOffsets[seat + 1] - adjacencyOffsets[seat];
+  }
+
+  /**
+   * Row offsets into {@link #getAdjacencyNeighbors()}, the neighbors of seat i are
+   * neighbors[offsets[i]] until neighbors[offsets[i + 1]], in ascending seat index order.
+   *
+   * Exposed directly so hot loops can iterate without boxing or callbacks, do not modify.
+   */
+  public int[] getAdjacencyOffsets() {
+    return adjacencyOffsets;
+  }
+
+  public int[] getAdjacencyNeighbors() {
+    return adjacencyNeighbors;
+  }
+
+  public boolean hasAdjacencyBits() {
+    return adjacencyBits != null;
+  }
+
+  /**
+   * @return the neighbors of the seat as a bitset over seat indexes, or null for floors too large
+   * to keep these ({@link #hasAdjacencyBits()}). Do not modify.
+   */
+  public long[] getAdjacencyBits(int seat) {
+    return adjacencyBits == null ? null : adjacencyBits[seat];
+  }
+
+  public boolean isAdjacent(int seat, int other) {
+    if (adjacencyBits != null) {
+      return (adjacencyBits[seat][other >>> 6] & (1L << other)) != 0;
+    }
+    return Arrays.binarySearch(adjacencyNeighbors, adjacencyOffsets[seat], adjacencyOffsets[seat + 1], other) >= 0;
+  }
+
+  /**
+   * Set the bits of every neighbor of the seat in target
+   */
+  public void addAdjacent(int seat, BitSet target) {
+    for (int i = adjacencyOffsets[seat]; i < adjacencyOffsets[seat + 1]; i++) {
+      target.set(adjacencyNeighbors[i]);
+    }
+  }
+
+  /**
+   * Whether the seats form a single connected group, by an iterative flood fill over the adjacency rows
+   */
+  public boolean isConnected(BitSet seats) {
+    int start = seats.nextSetBit(0);
+    if (start < 0) {
+      return true;
+    }
+
+    FloodFill fill = floodFills.get();
+    BitSet reached = fill.reached;
+    int[] queue = fill.queue;
+
+    // Breadth first, the queue doubles as the list of bits to reset afterwards
+    queue[0] = start;
+    reached.set(start);
+    int head = 0;
+    int tail = 1;
+    while (head < tail) {
+      int seat = queue[head++];
+      for (int i = adjacencyOffsets[seat]; i < adjacencyOffsets[seat + 1]; i++) {
+        int neighbor = adjacencyNeighbors[i];
+        if (seats.get(neighbor) && !reached.get(neighbor)) {
+          reached.set(neighbor);
+          queue[tail++] = neighbor;
+        }
+      }
+    }
+
+    for (int i = 0; i < tail; i++) {
+      reached.clear(queue[i]);
+    }
+    return tail == seats.cardinality();
+  }
+
+  private int[] findAllAdjacent(int seat, QuadTree<SeatCore> seatQuadTree) {
+    double x = distances.x(seat);
+    double y = distances.y(seat);
+    double xMin = x - maxAdjOffset;
+    double yMin = y - maxAdjOffset;
+    double xMax = x + maxAdjOffset;
+    double yMax = y + maxAdjOffset;
 
     if (xMin < 0) {
       xMin = 0;
@@ -99,84 +333,113 @@ public class SeatGrid {
 
     com.github.varunpant.quadtree.Point<SeatCore>[] points = seatQuadTree.searchWithin(xMin, yMin, xMax, yMax);
 
-    Set<SeatCore> neighbors = new HashSet<>();
+    int[] candidates = new int[points.length];
+    int candidateCount = 0;
     for (com.github.varunpant.quadtree.Point<SeatCore> point : points) {
-      if (point.getValue() == seat) {
+      int other = seatIndex.get(point.getValue());
+      if (other == seat) {
         continue;
       }
 
-      double dist = PointUtils.distance(seat, point.getValue());
+      double dist = distances.distance(other, x, y);
       if (dist > maxAdjOffset) {
         continue;
       }
 
-      neighbors.add(point.getValue());
+      candidates[candidateCount++] = other;
     }
 
-    Set<SeatCore> result = neighbors.stream()
-        .filter(neighbor -> !isOccluded(seat, neighbor, neighbors))
-        .collect(Collectors.toSet());
+    int[] result = new int[candidateCount];
+    int resultCount = 0;
+    for (int i = 0; i < candidateCount; i++) {
+      if (!isOccluded(seat, candidates[i], candidates, candidateCount)) {
+        result[resultCount++] = candidates[i];
+      }
+    }
 
+    result = Arrays.copyOf(result, resultCount);
+    Arrays.sort(result);
     return result;
   }
 
-  private boolean isOccluded(SeatCore from, SeatCore to, Collection<SeatCore> neighbors) {
-    List<Point> line = bresenhamLine(from, to);
+  private boolean isOccluded(int from, int to, int[] neighbors, int neighborCount) {
+    double x0 = distances.x(from);
+    double y0 = distances.y(from);
+    double x1 = distances.x(to);
+    double y1 = distances.y(to);
+
+    // Any seat whose rect does not overlap the line's bounding box can't occlude it
+    double minX = Math.min(x0, x1) - HALF_SEAT_WIDTH;
+    double maxX = Math.max(x0, x1) + HALF_SEAT_WIDTH;
+    double minY = Math.min(y0, y1) - HALF_SEAT_HEIGHT;
+    double maxY = Math.max(y0, y1) + HALF_SEAT_HEIGHT;
+
+    for (int i = 0; i < neighborCount; i++) {
+      int seat = neighbors[i];
+      if (seat == to) {
+        continue;
+      }
 
-    return neighbors.stream()
-        .filter(seat -> seat != to)
-        .anyMatch(seat -> {
-          // Calculate the bounding points of the rect
-          // Any points with (x,y) > (x0, y0) && (x,y) < (x1, y1) are in the rect
-          // And thus these points occlude the target
+      double x = distances.x(seat);
+      double y = distances.y(seat);
+      if (x <= minX || x >= maxX || y <= minY || y >= maxY) {
+        continue;
+      }
 
-          double x0 = seat.x() - (SEAT_WIDTH / 2);
-          double y0 = seat.y() - (SEAT_HEIGHT / 2);
-          double x1 = seat.x() + (SEAT_WIDTH / 2);
-          double y1 = seat.y() + (SEAT_HEIGHT / 2);
+      if (segmentCrossesRect(x0, y0, x1, y1, x - HALF_SEAT_WIDTH, y - HALF_SEAT_HEIGHT, x + HALF_SEAT_WIDTH, y + HALF_SEAT_HEIGHT)) {
+        return true;
+      }
+    }
 
-          return line.stream().anyMatch(point -> {
-            return point.x() > x0 && point.y() > y0 && point.x() < x1 && point.y() < y1;
-          });
-        });
+    return false;
   }
 
-  private List<Point> bresenhamLine(PointBase from, PointBase to) {
-    double x0 = from.x();
-    double y0 = from.y();
-    double x1 = to.x();
-    double y1 = to.y();
-
-    List<Point> line = new ArrayList<>();
-
-    double dx = Math.abs(x1 - x0);
-    double dy = Math.abs(y1 - y0);
-
-    int sx = x0 < x1 ? 1 : -1;
-    int sy = y0 < y1 ? 1 : -1;
-
-    int err = ((int) (dx - dy));
-    int e2;
-
-    while (true) {
-      line.add(Point.builder().x(x0).y(y0).build());
-
-      if (x0 == x1 && y0 == y1) {
-        break;
-      }
-
-      e2 = 2 * err;
-      if (e2 > -dy) {
-        err = ((int) (err - dy));
-        x0 = x0 + sx;
+  /**
+   * Whether any point of the segment lies strictly inside the rect, by clipping the segment's
+   * parameter range against both slabs of the rect (Liang-Barsky)
+   */
+  private static boolean segmentCrossesRect(double x0, double y0, double x1, double y1,
+                                            double left, double bottom, double right, double top) {
+    double enter = Double.NEGATIVE_INFINITY;
+    double exit = Double.POSITIVE_INFINITY;
+
+    double dx = x1 - x0;
+    if (dx == 0) {
+      if (x0 <= left || x0 >= right) {
+        return false;
       }
+    } else {
+      double t1 = (left - x0) / dx;
+      double t2 = (right - x0) / dx;
+      enter = Math.max(enter, Math.min(t1, t2));
+      exit = Math.min(exit, Math.max(t1, t2));
+    }
 
-      if (e2 < dx) {
-        err = ((int) (err + dx));
-        y0 = y0 + sy;
+    double dy = y1 - y0;
+    if (dy == 0) {
+      if (y0 <= bottom || y0 >= top) {
+        return false;
       }
+    } else {
+      double t1 = (bottom - y0) / dy;
+      double t2 = (top - y0) / dy;
+      enter = Math.max(enter, Math.min(t1, t2));
+      exit = Math.min(exit, Math.max(t1, t2));
     }
 
-    return line;
+    return enter < exit && enter < 1 && exit > 0;
+  }
+
+  /**
+   * Per thread scratch space for {@link #isConnected}, left cleared between calls
+   */
+  private static class FloodFill {
+    private final BitSet reached;
+    private final int[] queue;
+
+    private FloodFill(int size) {
+      this.reached = new BitSet(size);
+      this.queue = new int[size];
+    }
   }
 }
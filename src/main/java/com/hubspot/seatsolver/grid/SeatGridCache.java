@@ -0,0 +1,180 @@
+package com.hubspot.seatsolver.grid;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.IntBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+import java.util.Optional;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.google.common.hash.HashCode;
+import com.google.common.hash.Hasher;
+import com.google.common.hash.Hashing;
+import com.hubspot.seatsolver.model.SeatCore;
+
+/**
+ * Persists the computed adjacency graph so repeat runs on the same floor plan skip the occlusion pass.
+ *
+ * Files are named by a hash of everything the graph depends on: the ordered seat list (which also fixes
+ * the seat indexes), the max adjacent seat distance and the seat dimensions.
+ *
+ * Layout, big endian:
+ * <pre>
+ *   int      magic
+ *   int      version
+ *   byte[32] key
+ *   int      seat count (n)
+ *   int      neighbor count (m)
+ *   int[n+1] offsets
+ *   int[m]   neighbors
+ * </pre>
+ */
+class SeatGridCache {
+  private static final Logger LOG = LoggerFactory.getLogger(SeatGridCache.class);
+
+  private static final int MAGIC = 0x53475244;
+  // 2: adjacency is symmetric
+  private static final int VERSION = 2;
+  private static final int KEY_BYTES = 32;
+  private static final int HEADER_BYTES = 4 + 4 + KEY_BYTES + 4 + 4;
+
+  private final File directory;
+
+  SeatGridCache(File directory) {
+    this.directory = directory;
+  }
+
+  static HashCode key(List<? extends SeatCore> seats, int maxAdjacentSeatDistance, int seatWidth, int seatHeight) {
+    Hasher hasher = Hashing.sha256().newHasher()
+        .putInt(VERSION)
+        .putInt(maxAdjacentSeatDistance)
+        .putInt(seatWidth)
+        .putInt(seatHeight)
+        .putInt(seats.size());
+    for (SeatCore seat : seats) {
+      hasher.putString(seat.id(), StandardCharsets.UTF_8)
+          .putDouble(seat.x())
+          .putDouble(seat.y());
+    }
+    return hasher.hash();
+  }
+
+  Optional<AdjacencyGraph> load(HashCode key, int seatCount) {
+    Path path = pathFor(key);
+    if (!Files.isRegularFile(path)) {
+      return Optional.empty();
+    }
+
+    try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+      MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+      if (buffer.remaining() < HEADER_BYTES || buffer.getInt() != MAGIC || buffer.getInt() != VERSION) {
+        LOG.warn("Ignoring seat grid cache {} with an unknown format", path);
+        return Optional.empty();
+      }
+
+      byte[] storedKey = new byte[KEY_BYTES];
+      buffer.get(storedKey);
+      int storedSeatCount = buffer.getInt();
+      int neighborCount = buffer.getInt();
+      if (!HashCode.fromBytes(storedKey).equals(key) || storedSeatCount != seatCount ||
+          buffer.remaining() != 4L * (seatCount + 1 + neighborCount)) {
+        LOG.warn("Ignoring seat grid cache {} that does not match this floor plan", path);
+        return Optional.empty();
+      }
+
+      IntBuffer ints = buffer.asIntBuffer();
+      int[] offsets = new int[seatCount + 1];
+      int[] neighbors = new int[neighborCount];
+      ints.get(offsets);
+      ints.get(neighbors);
+      if (!isWellFormed(offsets, neighbors)) {
+        LOG.warn("Ignoring corrupt seat grid cache {}", path);
+        return Optional.empty();
+      }
+
+      LOG.info("Loaded seat grid adjacency from {}", path);
+      return Optional.of(new AdjacencyGraph(offsets, neighbors));
+    } catch (IOException | RuntimeException e) {
+      LOG.warn("Could not read seat grid cache {}, rebuilding", path, e);
+      return Optional.empty();
+    }
+  }
+
+  void store(HashCode key, AdjacencyGraph graph) {
+    Path path = pathFor(key);
+    Path tmp = null;
+    try {
+      Files.createDirectories(directory.toPath());
+      tmp = Files.createTempFile(directory.toPath(), path.getFileName().toString(), ".tmp");
+
+      int[] offsets = graph.getOffsets();
+      int[] neighbors = graph.getNeighbors();
+      ByteBuffer buffer = ByteBuffer.allocate(HEADER_BYTES + 4 * (offsets.length + neighbors.length));
+      buffer.putInt(MAGIC)
+          .putInt(VERSION)
+          .put(key.asBytes())
+          .putInt(graph.size())
+          .putInt(neighbors.length);
+      buffer.asIntBuffer().put(offsets).put(neighbors);
+      buffer.position(0);
+
+      try (FileChannel channel = FileChannel.open(tmp, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+        while (buffer.hasRemaining()) {
+          channel.write(buffer);
+        }
+      }
+
+      // concurrent runs on the same floor write identical files, whichever lands last wins
+      Files.move(tmp, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+      LOG.info("Wrote seat grid adjacency to {}", path);
+    } catch (IOException e) {
+      LOG.warn("Could not write seat grid cache {}", path, e);
+    } finally {
+      if (tmp != null) {
+        try {
+          // gone already after a successful move
+          Files.deleteIfExists(tmp);
+        } catch (IOException e) {
+          LOG.warn("Could not delete {}", tmp, e);
+        }
+      }
+    }
+  }
+
+  /**
+   * Offsets start at 0, never decrease and end at the neighbor count, and every row holds ascending seat
+   * indexes, as {@link SeatGrid#isAdjacent} expects
+   */
+  private static boolean isWellFormed(int[] offsets, int[] neighbors) {
+    int seatCount = offsets.length - 1;
+    if (offsets[0] != 0 || offsets[seatCount] != neighbors.length) {
+      return false;
+    }
+
+    for (int seat = 0; seat < seatCount; seat++) {
+      if (offsets[seat] > offsets[seat + 1]) {
+        return false;
+      }
+      for (int i = offsets[seat]; i < offsets[seat + 1]; i++) {
+        if (neighbors[i] < 0 || neighbors[i] >= seatCount || (i > offsets[seat] && neighbors[i] <= neighbors[i - 1])) {
+          return false;
+        }
+      }
+    }
+    return true;
+  }
+
+  private Path pathFor(HashCode key) {
+    return new File(directory, "seat-grid-" + key + ".bin").toPath();
+  }
+}
@@ -0,0 +1,112 @@
+package com.hubspot.seatsolver.grid;
+
+/**
+ * Convex hull helpers for a group of seats.
+ *
+ * Seats are passed as an array of seat indexes; hulls are returned as positions into that array,
+ * in counter clockwise order, without collinear points.
+ */
+public final class SeatHull {
+
+  private SeatHull() {
+  }
+
+  /**
+   * Andrew's monotone chain, O(k log k)
+   */
+  public static int[] of(SeatDistances distances, int[] seats) {
+    int n = seats.length;
+    if (n <= 1) {
+      return n == 0 ? new int[0] : new int[] {0};
+    }
+
+    int[] sorted = new int[n];
+    for (int i = 0; i < n; i++) {
+      sorted[i] = i;
+    }
+    sortByPosition(distances, seats, sorted);
+
+    int[] hull = new int[2 * n];
+    int k = 0;
+    for (int i = 0; i < n; i++) {
+      while (k >= 2 && cross(distances, seats, hull[k - 2], hull[k - 1], sorted[i]) <= 0) {
+        k--;
+      }
+      hull[k++] = sorted[i];
+    }
+    for (int i = n - 2, lower = k + 1; i >= 0; i--) {
+      while (k >= lower && cross(distances, seats, hull[k - 2], hull[k - 1], sorted[i]) <= 0) {
+        k--;
+      }
+      hull[k++] = sorted[i];
+    }
+
+    // the last point is the same as the first one
+    int size = Math.max(1, k - 1);
+    int[] result = new int[size];
+    System.arraycopy(hull, 0, result, 0, size);
+    return result;
+  }
+
+  /**
+   * Maximum distance between any two seats, using rotating calipers over the hull. O(h)
+   */
+  public static double diameter(SeatDistances distances, int[] seats, int[] hull) {
+    int h = hull.length;
+    if (h < 2) {
+      return 0;
+    }
+    if (h == 2) {
+      return distances.distance(seats[hull[0]], seats[hull[1]]);
+    }
+
+    double max = 0;
+    int j = 1;
+    for (int i = 0; i < h; i++) {
+      int next = (i + 1) % h;
+      while (Math.abs(cross(distances, seats, hull[i], hull[next], hull[(j + 1) % h])) >
+          Math.abs(cross(distances, seats, hull[i], hull[next], hull[j]))) {
+        j = (j + 1) % h;
+      }
+      max = Math.max(max, distances.distance(seats[hull[i]], seats[hull[j]]));
+      max = Math.max(max, distances.distance(seats[hull[next]], seats[hull[j]]));
+    }
+    return max;
+  }
+
+  private static double cross(SeatDistances distances, int[] seats, int o, int a, int b) {
+    double ox = distances.x(seats[o]);
+    double oy = distances.y(seats[o]);
+    return (distances.x(seats[a]) - ox) * (distances.y(seats[b]) - oy) -
+        (distances.y(seats[a]) - oy) * (distances.x(seats[b]) - ox);
+  }
+
+  private static void sortByPosition(SeatDistances distances, int[] seats, int[] positions) {
+    int[] buffer = new int[positions.length];
+    for (int width = 1; width < positions.length; width *= 2) {
+      for (int start = 0; start < positions.length - width; start += 2 * width) {
+        int mid = start + width;
+        int end = Math.min(start + 2 * width, positions.length);
+        int left = start;
+        int right = mid;
+        int out = start;
+        while (left < mid && right < end) {
+          buffer[out++] = compare(distances, seats, positions[right], positions[left]) < 0 ?
+              positions[right++] : positions[left++];
+        }
+        while (left < mid) {
+          buffer[out++] = positions[left++];
+        }
+        while (right < end) {
+          buffer[out++] = positions[right++];
+        }
+        System.arraycopy(buffer, start, positions, start, end - start);
+      }
+    }
+  }
+
+  private static int compare(SeatDistances distances, int[] seats, int a, int b) {
+    int byX = Double.compare(distances.x(seats[a]), distances.x(seats[b]));
+    return byX != 0 ? byX : Double.compare(distances.y(seats[a]), distances.y(seats[b]));
+  }
+}
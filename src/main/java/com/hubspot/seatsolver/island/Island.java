@@ -0,0 +1,95 @@
+package com.hubspot.seatsolver.island;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import com.hubspot.seatsolver.model.SeatCore;
+
+import io.jenetics.EnumGene;
+import io.jenetics.Genotype;
+import io.jenetics.Phenotype;
+import io.jenetics.engine.Engine;
+import io.jenetics.engine.EvolutionResult;
+import io.jenetics.engine.EvolutionStart;
+import io.jenetics.util.ISeq;
+
+/**
+ * One engine evolving its own population a generation at a time, taking in migrants between generations.
+ * Fitness is minimized. Only the island's own thread evolves it, other threads read {@link #getLatest()}.
+ */
+public class Island {
+  static final Comparator<Phenotype<EnumGene<SeatCore>, Double>> BEST_FIRST =
+      Comparator.comparingDouble(Phenotype::getFitness);
+
+  private final int index;
+  private final Engine<EnumGene<SeatCore>, Double> engine;
+  private final MigrationChannel inbound = new MigrationChannel();
+
+  private volatile EvolutionResult<EnumGene<SeatCore>, Double> current;
+
+  public Island(int index, Engine<EnumGene<SeatCore>, Double> engine) {
+    this.index = index;
+    this.engine = engine;
+  }
+
+  public int getIndex() {
+    return index;
+  }
+
+  public MigrationChannel getInbound() {
+    return inbound;
+  }
+
+  public EvolutionResult<EnumGene<SeatCore>, Double> evolve() {
+    if (current == null) {
+      // the engine fills an empty start population from its genotype factory
+      current = engine.evolve(EvolutionStart.of(ISeq.empty(), 1));
+    } else {
+      long generation = current.getGeneration() + 1;
+      current = engine.evolve(EvolutionStart.of(withMigrants(current.getPopulation(), generation), generation));
+    }
+    return current;
+  }
+
+  /**
+   * @return the last generation's result, null before the first
+   */
+  public EvolutionResult<EnumGene<SeatCore>, Double> getLatest() {
+    return current;
+  }
+
+  /**
+   * @return this island's best individuals from the last generation
+   */
+  public List<Phenotype<EnumGene<SeatCore>, Double>> emigrants(int count) {
+    EvolutionResult<EnumGene<SeatCore>, Double> latest = current;
+    if (latest == null) {
+      return Collections.emptyList();
+    }
+    return latest.getPopulation().stream()
+        .sorted(BEST_FIRST)
+        .limit(count)
+        .collect(Collectors.toList());
+  }
+
+  private ISeq<Phenotype<EnumGene<SeatCore>, Double>> withMigrants(ISeq<Phenotype<EnumGene<SeatCore>, Double>> population,
+                                                                    long generation) {
+    List<Genotype<EnumGene<SeatCore>>> migrants = inbound.drain();
+    if (migrants.isEmpty()) {
+      return population;
+    }
+
+    List<Phenotype<EnumGene<SeatCore>, Double>> result = new ArrayList<>(population.asList());
+    result.sort(BEST_FIRST);
+    int replaced = Math.min(migrants.size(), result.size());
+    for (int i = 0; i < replaced; i++) {
+      // migrants take the place, and fitness function, of the individual they replace and start their age over
+      int worst = result.size() - 1 - i;
+      result.set(worst, result.get(worst).newInstance(migrants.get(i), generation));
+    }
+    return ISeq.of(result);
+  }
+}
@@ -0,0 +1,244 @@
+package com.hubspot.seatsolver.island;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import com.hubspot.seatsolver.config.MigrationTopology;
+import com.hubspot.seatsolver.model.SeatCore;
+
+import io.jenetics.EnumGene;
+import io.jenetics.Genotype;
+import io.jenetics.Optimize;
+import io.jenetics.Phenotype;
+import io.jenetics.engine.EvolutionDurations;
+import io.jenetics.engine.EvolutionResult;
+import io.jenetics.engine.EvolutionStart;
+import io.jenetics.engine.EvolutionStream;
+import io.jenetics.util.ISeq;
+
+/**
+ * Evolves islands side by side, each on its own thread and at its own pace, and migrates an island's best
+ * individuals every migration interval of that island's generations. Islands never wait for each other:
+ * a stream element is produced once every island got at least one generation further, merging their
+ * latest results into a single result over the union of their populations.
+ *
+ * Each island's engine should have its own executors, see {@link #IslandEvolution}, so islands don't
+ * compete for one pool.
+ */
+public class IslandEvolution implements AutoCloseable {
+  private static final Logger LOG = LoggerFactory.getLogger(IslandEvolution.class);
+
+  private final List<Island> islands;
+  private final MigrationTopology topology;
+  private final int migrationInterval;
+  private final int migrantCount;
+  private final List<ExecutorService> engineExecutors;
+  private final ExecutorService islandExecutor;
+  private final List<Consumer<List<Genotype<EnumGene<SeatCore>>>>> remotePeers = new CopyOnWriteArrayList<>();
+  private final AtomicLong nextImmigrantIsland = new AtomicLong();
+  private final AtomicReference<Throwable> failure = new AtomicReference<>();
+  private final Object progress = new Object();
+
+  private volatile boolean closed;
+  private boolean started;
+  private long generation;
+
+  /**
+   * @param engineExecutors the executors the islands' engines run on, shut down on close
+   */
+  public IslandEvolution(List<Island> islands,
+                         MigrationTopology topology,
+                         int migrationInterval,
+                         int migrantCount,
+                         List<ExecutorService> engineExecutors) {
+    this.islands = islands;
+    this.topology = topology;
+    this.migrationInterval = migrationInterval;
+    this.migrantCount = migrantCount;
+    this.engineExecutors = engineExecutors;
+    this.islandExecutor = Executors.newFixedThreadPool(
+        islands.size(),
+        new ThreadFactoryBuilder().setNameFormat("island-%d").setDaemon(true).build()
+    );
+  }
+
+  public EvolutionStream<EnumGene<SeatCore>, Double> stream() {
+    // the islands keep their own populations, the stream only follows them
+    return EvolutionStream.of(() -> EvolutionStart.of(ISeq.empty(), 1), start -> evolve());
+  }
+
+  /**
+   * Waits until every island is at least one generation further than at the last call
+   */
+  public EvolutionResult<EnumGene<SeatCore>, Double> evolve() {
+    if (!started) {
+      started = true;
+      islands.forEach(island -> islandExecutor.execute(() -> run(island)));
+    }
+
+    generation++;
+    synchronized (progress) {
+      while (failure.get() == null && slowestGeneration() < generation) {
+        try {
+          progress.wait();
+        } catch (InterruptedException e) {
+          Thread.currentThread().interrupt();
+          throw new IllegalStateException("Interrupted waiting for islands", e);
+        }
+      }
+    }
+    if (failure.get() != null) {
+      throw new IllegalStateException("Island failed", failure.get());
+    }
+
+    if (!remotePeers.isEmpty() && migrantCount > 0 && generation % migrationInterval == 0) {
+      emigrateRemote();
+    }
+
+    List<EvolutionResult<EnumGene<SeatCore>, Double>> results = new ArrayList<>(islands.size());
+    for (Island island : islands) {
+      results.add(island.getLatest());
+    }
+    return merge(results);
+  }
+
+  /**
+   * Also send migrants to another process, every migration it is offered the best individuals across
+   * all of this process's islands
+   */
+  public void addRemotePeer(Consumer<List<Genotype<EnumGene<SeatCore>>>> peer) {
+    remotePeers.add(peer);
+  }
+
+  /**
+   * Hands migrants from another process to the islands, spread round robin
+   */
+  public void immigrate(List<Genotype<EnumGene<SeatCore>>> migrants) {
+    for (Genotype<EnumGene<SeatCore>> migrant : migrants) {
+      int island = (int) (nextImmigrantIsland.getAndIncrement() % islands.size());
+      islands.get(island).getInbound().offer(Collections.singletonList(migrant));
+    }
+  }
+
+  private void run(Island island) {
+    try {
+      while (!closed) {
+        EvolutionResult<EnumGene<SeatCore>, Double> result = island.evolve();
+        if (islands.size() > 1 && migrantCount > 0 && result.getGeneration() % migrationInterval == 0) {
+          emigrate(island);
+        }
+        synchronized (progress) {
+          progress.notifyAll();
+        }
+      }
+    } catch (Throwable t) {
+      if (!closed) {
+        LOG.error("Island {} failed", island.getIndex(), t);
+        failure.compareAndSet(null, t);
+        synchronized (progress) {
+          progress.notifyAll();
+        }
+      }
+    }
+  }
+
+  private long slowestGeneration() {
+    long slowest = Long.MAX_VALUE;
+    for (Island island : islands) {
+      EvolutionResult<EnumGene<SeatCore>, Double> latest = island.getLatest();
+      slowest = Math.min(slowest, latest == null ? 0 : latest.getGeneration());
+    }
+    return slowest;
+  }
+
+  private void emigrate(Island island) {
+    List<Genotype<EnumGene<SeatCore>>> emigrants = genotypes(island.emigrants(migrantCount));
+    int index = island.getIndex();
+    int count = islands.size();
+    LOG.debug("Island {} migrating {} individuals ({})", index, emigrants.size(), topology);
+    switch (topology) {
+      case RING:
+        islands.get((index + 1) % count).getInbound().offer(emigrants);
+        break;
+      case FULLY_CONNECTED:
+        for (Island other : islands) {
+          if (other != island) {
+            other.getInbound().offer(emigrants);
+          }
+        }
+        break;
+      case RANDOM:
+        int target = ThreadLocalRandom.current().nextInt(count - 1);
+        islands.get(target >= index ? target + 1 : target).getInbound().offer(emigrants);
+        break;
+      default:
+        throw new IllegalStateException("Unknown migration topology " + topology);
+    }
+  }
+
+  private void emigrateRemote() {
+    List<Phenotype<EnumGene<SeatCore>, Double>> allEmigrants = new ArrayList<>();
+    for (Island island : islands) {
+      allEmigrants.addAll(island.emigrants(migrantCount));
+    }
+    allEmigrants.sort(Island.BEST_FIRST);
+    List<Genotype<EnumGene<SeatCore>>> best = genotypes(allEmigrants.subList(0, Math.min(migrantCount, allEmigrants.size())));
+    remotePeers.forEach(peer -> peer.accept(best));
+  }
+
+  private static List<Genotype<EnumGene<SeatCore>>> genotypes(List<Phenotype<EnumGene<SeatCore>, Double>> phenotypes) {
+    return phenotypes.stream()
+        .map(Phenotype::getGenotype)
+        .collect(Collectors.toList());
+  }
+
+  private EvolutionResult<EnumGene<SeatCore>, Double> merge(List<EvolutionResult<EnumGene<SeatCore>, Double>> results) {
+    List<Phenotype<EnumGene<SeatCore>, Double>> population = new ArrayList<>();
+    EvolutionDurations durations = EvolutionDurations.ZERO;
+    int killCount = 0;
+    int invalidCount = 0;
+    int alterCount = 0;
+    for (EvolutionResult<EnumGene<SeatCore>, Double> result : results) {
+      population.addAll(result.getPopulation().asList());
+      durations = durations.plus(result.getDurations());
+      killCount += result.getKillCount();
+      invalidCount += result.getInvalidCount();
+      alterCount += result.getAlterCount();
+    }
+
+    // generations count from the slowest island, faster islands may be ahead
+    return EvolutionResult.of(
+        Optimize.MINIMUM,
+        ISeq.of(population),
+        generation,
+        generation,
+        durations,
+        killCount,
+        invalidCount,
+        alterCount
+    );
+  }
+
+  /**
+   * Stops the islands and shuts down their executors
+   */
+  @Override
+  public void close() {
+    closed = true;
+    islandExecutor.shutdownNow();
+    engineExecutors.forEach(ExecutorService::shutdownNow);
+  }
+}
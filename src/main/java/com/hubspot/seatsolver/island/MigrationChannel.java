@@ -0,0 +1,34 @@
+package com.hubspot.seatsolver.island;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+import com.hubspot.seatsolver.model.SeatCore;
+
+import io.jenetics.EnumGene;
+import io.jenetics.Genotype;
+
+/**
+ * Migrants waiting for an island, senders may offer from any thread
+ */
+public class MigrationChannel {
+  private final Queue<Genotype<EnumGene<SeatCore>>> migrants = new ConcurrentLinkedQueue<>();
+
+  public void offer(List<Genotype<EnumGene<SeatCore>>> genotypes) {
+    migrants.addAll(genotypes);
+  }
+
+  /**
+   * @return every migrant offered since the last drain
+   */
+  public List<Genotype<EnumGene<SeatCore>>> drain() {
+    List<Genotype<EnumGene<SeatCore>>> drained = new ArrayList<>();
+    Genotype<EnumGene<SeatCore>> migrant;
+    while ((migrant = migrants.poll()) != null) {
+      drained.add(migrant);
+    }
+    return drained;
+  }
+}
@@ -1,6 +1,7 @@
 package com.hubspot.seatsolver.model;
 
 import java.util.List;
+import java.util.Optional;
 
 import org.immutables.value.Value;
 
@@ -18,4 +19,9 @@ import com.fasterxml.jackson.databind.annotation.JsonSerialize;
 public interface PopulationResultIF {
   List<AssignmentResult> topTen();
   AssignmentResult best();
+
+  /**
+   * Which stopping rule ended the run, only set on the final result
+   */
+  Optional<String> stopReason();
 }
@@ -0,0 +1,21 @@
+package com.hubspot.seatsolver.stopping;
+
+import io.jenetics.engine.EvolutionResult;
+
+public class GenerationLimitRule implements StoppingRule {
+  private final long maxGenerations;
+
+  public GenerationLimitRule(long maxGenerations) {
+    this.maxGenerations = maxGenerations;
+  }
+
+  @Override
+  public boolean shouldStop(EvolutionResult<?, Double> result) {
+    return result.getTotalGenerations() >= maxGenerations;
+  }
+
+  @Override
+  public String describe() {
+    return "reached " + maxGenerations + " generations";
+  }
+}
@@ -0,0 +1,41 @@
+package com.hubspot.seatsolver.stopping;
+
+import io.jenetics.engine.EvolutionResult;
+
+/**
+ * Fires once the best fitness improved by less than a fraction of itself over the last window of generations
+ */
+public class RelativeImprovementRule implements StoppingRule {
+  private final int window;
+  private final double minImprovement;
+  // best fitness of the last window + 1 generations, as a ring
+  private final double[] history;
+
+  private long seen;
+  private double improvement;
+
+  public RelativeImprovementRule(int window, double minImprovement) {
+    this.window = window;
+    this.minImprovement = minImprovement;
+    this.history = new double[window + 1];
+  }
+
+  @Override
+  public boolean shouldStop(EvolutionResult<?, Double> result) {
+    double fitness = result.getBestFitness();
+    history[(int) (seen % history.length)] = fitness;
+    seen++;
+    if (seen < history.length) {
+      return false;
+    }
+
+    double windowStart = history[(int) (seen % history.length)];
+    improvement = windowStart == 0 ? 0 : (windowStart - fitness) / Math.abs(windowStart);
+    return improvement < minImprovement;
+  }
+
+  @Override
+  public String describe() {
+    return String.format("best fitness improved by %.6f over %d generations, less than %s", improvement, window, minImprovement);
+  }
+}
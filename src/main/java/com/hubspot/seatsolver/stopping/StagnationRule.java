@@ -0,0 +1,33 @@
+package com.hubspot.seatsolver.stopping;
+
+import io.jenetics.engine.EvolutionResult;
+
+/**
+ * Fires once the best fitness hasn't improved for a number of generations
+ */
+public class StagnationRule implements StoppingRule {
+  private final int generations;
+
+  private double best = Double.POSITIVE_INFINITY;
+  private int stalled;
+
+  public StagnationRule(int generations) {
+    this.generations = generations;
+  }
+
+  @Override
+  public boolean shouldStop(EvolutionResult<?, Double> result) {
+    double fitness = result.getBestFitness();
+    if (fitness < best) {
+      best = fitness;
+      stalled = 0;
+      return false;
+    }
+    return ++stalled >= generations;
+  }
+
+  @Override
+  public String describe() {
+    return "best fitness " + best + " unchanged for " + generations + " generations";
+  }
+}
@@ -0,0 +1,71 @@
+package com.hubspot.seatsolver.stopping;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.function.Predicate;
+
+import com.hubspot.seatsolver.config.StoppingConfig;
+
+import io.jenetics.Gene;
+import io.jenetics.engine.EvolutionResult;
+
+/**
+ * Stops at the first of its rules to fire and remembers which one. Used as an evolution stream limit, so
+ * {@link #test} answers whether to go on.
+ */
+public class StoppingPolicy implements Predicate<EvolutionResult<?, Double>> {
+  private final List<StoppingRule> rules;
+
+  private volatile StoppingRule fired;
+  private volatile EvolutionResult<?, Double> stoppedAt;
+
+  public StoppingPolicy(List<StoppingRule> rules) {
+    this.rules = rules;
+  }
+
+  /**
+   * Starts the wall clock budget, build it right before evolving
+   */
+  public static StoppingPolicy of(StoppingConfig config) {
+    List<StoppingRule> rules = new ArrayList<>();
+    config.targetFitness().ifPresent(target -> rules.add(new TargetFitnessRule(target)));
+    config.stagnationGenerations().ifPresent(generations -> rules.add(new StagnationRule(generations)));
+    config.improvementWindow().ifPresent(window -> rules.add(new RelativeImprovementRule(window, config.minRelativeImprovement())));
+    rules.add(new WallClockRule(config.wallClockBudget()));
+    rules.add(new GenerationLimitRule(config.maxGenerations()));
+    return new StoppingPolicy(rules);
+  }
+
+  @Override
+  public boolean test(EvolutionResult<?, Double> result) {
+    if (fired != null) {
+      return false;
+    }
+
+    // every rule sees every generation, they track history
+    for (StoppingRule rule : rules) {
+      if (rule.shouldStop(result) && fired == null) {
+        fired = rule;
+        stoppedAt = result;
+      }
+    }
+    return fired == null;
+  }
+
+  /**
+   * @return the result that made the policy stop, which a stream limited by it leaves out, empty while it
+   * hasn't stopped
+   */
+  @SuppressWarnings("unchecked")
+  public <G extends Gene<?, G>> Optional<EvolutionResult<G, Double>> getStoppedAt() {
+    return Optional.ofNullable((EvolutionResult<G, Double>) stoppedAt);
+  }
+
+  /**
+   * @return why the policy stopped the run, empty while it hasn't
+   */
+  public Optional<String> getStopReason() {
+    return Optional.ofNullable(fired).map(StoppingRule::describe);
+  }
+}
@@ -0,0 +1,15 @@
+package com.hubspot.seatsolver.stopping;
+
+import io.jenetics.engine.EvolutionResult;
+
+/**
+ * One reason to end a run, checked after every generation. Rules may keep state across calls.
+ */
+public interface StoppingRule {
+  boolean shouldStop(EvolutionResult<?, Double> result);
+
+  /**
+   * @return why the rule fired, for the logs and the final result
+   */
+  String describe();
+}
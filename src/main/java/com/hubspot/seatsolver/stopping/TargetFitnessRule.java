@@ -0,0 +1,24 @@
+package com.hubspot.seatsolver.stopping;
+
+import io.jenetics.engine.EvolutionResult;
+
+public class TargetFitnessRule implements StoppingRule {
+  private final double targetFitness;
+
+  private double reached;
+
+  public TargetFitnessRule(double targetFitness) {
+    this.targetFitness = targetFitness;
+  }
+
+  @Override
+  public boolean shouldStop(EvolutionResult<?, Double> result) {
+    reached = result.getBestFitness();
+    return reached <= targetFitness;
+  }
+
+  @Override
+  public String describe() {
+    return "best fitness " + reached + " reached the target of " + targetFitness;
+  }
+}
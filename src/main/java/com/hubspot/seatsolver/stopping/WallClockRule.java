@@ -0,0 +1,25 @@
+package com.hubspot.seatsolver.stopping;
+
+import java.time.Duration;
+
+import io.jenetics.engine.EvolutionResult;
+
+public class WallClockRule implements StoppingRule {
+  private final Duration budget;
+  private final long deadlineNanos;
+
+  public WallClockRule(Duration budget) {
+    this.budget = budget;
+    this.deadlineNanos = System.nanoTime() + budget.toNanos();
+  }
+
+  @Override
+  public boolean shouldStop(EvolutionResult<?, Double> result) {
+    return System.nanoTime() - deadlineNanos >= 0;
+  }
+
+  @Override
+  public String describe() {
+    return "wall clock budget of " + budget + " used up";
+  }
+}
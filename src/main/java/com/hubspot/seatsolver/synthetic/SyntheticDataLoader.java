@@ -0,0 +1,214 @@
+package com.hubspot.seatsolver.synthetic;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.google.common.collect.ImmutableList;
+import com.hubspot.seatsolver.config.DataLoader;
+import com.hubspot.seatsolver.model.Adjacency;
+import com.hubspot.seatsolver.model.AdjacencyIF;
+import com.hubspot.seatsolver.model.Seat;
+import com.hubspot.seatsolver.model.SeatCore;
+import com.hubspot.seatsolver.model.Team;
+import com.hubspot.seatsolver.model.TeamCore;
+
+/**
+ * Generates a floor of desk pods split by aisles and an org chart of teams to fill it.
+ *
+ * The output only depends on the params, the same seed always produces the same seats and teams.
+ */
+public class SyntheticDataLoader implements DataLoader {
+  private static final Logger LOG = LoggerFactory.getLogger(SyntheticDataLoader.class);
+
+  private static final List<String> ADJACENCY_TYPES = ImmutableList.copyOf(AdjacencyIF.WEIGHT_BY_TYPE.keySet());
+  private static final int MAX_ADJACENCY_WEIGHT = 3;
+
+  private final SyntheticFloorParams params;
+  private final List<SeatCore> seats;
+  private final List<TeamCore> teams;
+
+  public SyntheticDataLoader(SyntheticFloorParams params) {
+    this.params = params;
+
+    Random random = new Random(params.seed());
+    this.seats = buildSeats();
+    this.teams = buildTeams(random);
+
+    LOG.info(
+        "Generated {} seats and {} teams with {} members (seed {})",
+        seats.size(),
+        teams.size(),
+        teams.stream().mapToInt(TeamCore::numMembers).sum(),
+        params.seed()
+    );
+  }
+
+  @Override
+  public List<? extends SeatCore> getSeats() {
+    return seats;
+  }
+
+  @Override
+  public List<? extends TeamCore> getTeams() {
+    return teams;
+  }
+
+  private List<SeatCore> buildSeats() {
+    int podSeats = params.podColumns() * params.podRows();
+    int podWidth = params.podColumns() * params.seatSpacingX() + params.aisleWidth();
+    int podHeight = params.podRows() * params.seatSpacingY() + params.aisleWidth();
+    int pods = (params.seatCount() + podSeats - 1) / podSeats;
+    // Keep the floor roughly square
+    int podsPerRow = Math.max(1, (int) Math.ceil(Math.sqrt(pods * (double) podHeight / podWidth)));
+
+    List<SeatCore> seats = new ArrayList<>(params.seatCount());
+    for (int i = 0; i < params.seatCount(); i++) {
+      int pod = i / podSeats;
+      int inPod = i % podSeats;
+      seats.add(
+          Seat.builder()
+              .id("seat-" + i)
+              .x((pod % podsPerRow) * podWidth + (inPod % params.podColumns()) * params.seatSpacingX())
+              .y((pod / podsPerRow) * podHeight + (inPod / params.podColumns()) * params.seatSpacingY())
+              .build()
+      );
+    }
+    return ImmutableList.copyOf(seats);
+  }
+
+  private List<TeamCore> buildTeams(Random random) {
+    int[] sizes = buildTeamSizes(random);
+
+    List<TeamCore> teams = new ArrayList<>(params.teamCount());
+    for (int i = 0; i < params.teamCount(); i++) {
+      Team.Builder team = Team.builder()
+          .id(teamId(i))
+          .numMembers(sizes[i]);
+
+      for (int other : pickAdjacentTeams(i, random)) {
+        Adjacency adjacency = Adjacency.builder()
+            .id(teamId(other))
+            .type(ADJACENCY_TYPES.get(random.nextInt(ADJACENCY_TYPES.size())))
+            .weight(1 + random.nextInt(MAX_ADJACENCY_WEIGHT))
+            .build();
+        team.addWantsAdjacent(adjacency);
+        team.putEffectiveWeightsByTeamId(adjacency.id(), adjacency.effectiveWeight());
+      }
+
+      if (random.nextDouble() < params.pinnedTeamFraction()) {
+        team.wantsSeatProximity(seats.get(random.nextInt(seats.size())));
+      }
+
+      teams.add(team.build());
+    }
+    return ImmutableList.copyOf(teams);
+  }
+
+  /**
+   * Draw relative team sizes from the distribution, scale them to the occupied seat count and then
+   * nudge teams one member at a time until the total matches, as far as the size bounds allow
+   */
+  private int[] buildTeamSizes(Random random) {
+    int teamCount = params.teamCount();
+    int min = params.minTeamSize();
+    int max = params.maxTeamSize();
+    long target = (long) (params.seatCount() * params.occupancy());
+
+    double[] weights = new double[teamCount];
+    double totalWeight = 0;
+    for (int i = 0; i < teamCount; i++) {
+      switch (params.teamSizeDistribution()) {
+        case UNIFORM:
+          weights[i] = min + random.nextInt(max - min + 1);
+          break;
+        case ZIPF:
+          weights[i] = 1 / Math.pow(i + 1, params.zipfExponent());
+          break;
+        default:
+          throw new IllegalArgumentException("Unknown team size distribution " + params.teamSizeDistribution());
+      }
+      totalWeight += weights[i];
+    }
+
+    // Zipf weights are by rank, shuffle so team ids don't line up with sizes
+    if (params.teamSizeDistribution() == TeamSizeDistribution.ZIPF) {
+      for (int i = teamCount - 1; i > 0; i--) {
+        int j = random.nextInt(i + 1);
+        double tmp = weights[i];
+        weights[i] = weights[j];
+        weights[j] = tmp;
+      }
+    }
+
+    int[] sizes = new int[teamCount];
+    long total = 0;
+    for (int i = 0; i < teamCount; i++) {
+      long size = Math.round(weights[i] / totalWeight * target);
+      sizes[i] = (int) Math.max(min, Math.min(max, size));
+      total += sizes[i];
+    }
+
+    boolean changed = true;
+    while (total != target && changed) {
+      changed = false;
+      for (int i = 0; i < teamCount && total != target; i++) {
+        if (total > target && sizes[i] > min) {
+          sizes[i]--;
+          total--;
+          changed = true;
+        } else if (total < target && sizes[i] < max) {
+          sizes[i]++;
+          total++;
+          changed = true;
+        }
+      }
+    }
+
+    if (total != target) {
+      LOG.warn("Team size bounds only allow {} of {} requested members", total, target);
+    }
+
+    return sizes;
+  }
+
+  private Set<Integer> pickAdjacentTeams(int team, Random random) {
+    int teamCount = params.teamCount();
+    if (teamCount == 1) {
+      return Collections.emptySet();
+    }
+
+    int orgStart = (team / params.teamsPerOrg()) * params.teamsPerOrg();
+    int orgSize = Math.min(params.teamsPerOrg(), teamCount - orgStart);
+
+    double mean = params.meanAdjacencies();
+    int count = (int) mean + (random.nextDouble() < mean - Math.floor(mean) ? 1 : 0);
+    count = Math.min(count, teamCount - 1);
+
+    Set<Integer> adjacent = new LinkedHashSet<>();
+    // Bounded so tiny orgs or dense requests can't spin forever on duplicates
+    for (int tries = 0; adjacent.size() < count && tries < count * 10; tries++) {
+      int other;
+      if (orgSize > 1 && random.nextDouble() < params.inOrgAdjacencyProbability()) {
+        other = orgStart + random.nextInt(orgSize);
+      } else {
+        other = random.nextInt(teamCount);
+      }
+
+      if (other != team) {
+        adjacent.add(other);
+      }
+    }
+    return adjacent;
+  }
+
+  private static String teamId(int team) {
+    return "team-" + team;
+  }
+}
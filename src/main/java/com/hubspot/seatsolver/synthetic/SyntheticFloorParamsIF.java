@@ -0,0 +1,123 @@
+package com.hubspot.seatsolver.synthetic;
+
+import org.immutables.value.Value;
+
+import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+import com.google.common.base.Preconditions;
+
+@Value.Immutable
+@Value.Style(
+    typeAbstract = {"*IF"},
+    typeImmutable = "*"
+)
+@JsonSerialize(as = SyntheticFloorParams.class)
+@JsonDeserialize(as = SyntheticFloorParams.class)
+public interface SyntheticFloorParamsIF {
+  int seatCount();
+
+  int teamCount();
+
+  @Value.Default
+  default long seed() {
+    return 0;
+  }
+
+  /**
+   * Fraction of the seats assigned to team members, the rest stay empty
+   */
+  @Value.Default
+  default double occupancy() {
+    return 0.85;
+  }
+
+  @Value.Default
+  default int podColumns() {
+    return 6;
+  }
+
+  @Value.Default
+  default int podRows() {
+    return 2;
+  }
+
+  @Value.Default
+  default int seatSpacingX() {
+    return 12;
+  }
+
+  @Value.Default
+  default int seatSpacingY() {
+    return 14;
+  }
+
+  @Value.Default
+  default int aisleWidth() {
+    return 30;
+  }
+
+  @Value.Default
+  default TeamSizeDistribution teamSizeDistribution() {
+    return TeamSizeDistribution.ZIPF;
+  }
+
+  @Value.Default
+  default double zipfExponent() {
+    return 0.8;
+  }
+
+  @Value.Default
+  default int minTeamSize() {
+    return 1;
+  }
+
+  @Value.Default
+  default int maxTeamSize() {
+    return 40;
+  }
+
+  /**
+   * Teams are grouped into orgs of this many consecutive teams, most adjacency requests stay inside an org
+   */
+  @Value.Default
+  default int teamsPerOrg() {
+    return 8;
+  }
+
+  @Value.Default
+  default double meanAdjacencies() {
+    return 2;
+  }
+
+  @Value.Default
+  default double inOrgAdjacencyProbability() {
+    return 0.8;
+  }
+
+  /**
+   * Fraction of teams that want to sit near a specific seat
+   */
+  @Value.Default
+  default double pinnedTeamFraction() {
+    return 0;
+  }
+
+  @Value.Check
+  default void check() {
+    Preconditions.checkState(seatCount() > 0, "seatCount must be positive");
+    Preconditions.checkState(teamCount() > 0, "teamCount must be positive");
+    Preconditions.checkState(occupancy() > 0 && occupancy() < 1, "occupancy must be in (0, 1)");
+    Preconditions.checkState(podColumns() > 0 && podRows() > 0, "pods must have at least one seat");
+    Preconditions.checkState(
+        minTeamSize() > 0 && minTeamSize() <= maxTeamSize(),
+        "team sizes must satisfy 0 < minTeamSize <= maxTeamSize"
+    );
+    Preconditions.checkState(
+        (long) teamCount() * minTeamSize() <= (long) (seatCount() * occupancy()),
+        "%s teams of at least %s members do not fit in %s occupied seats",
+        teamCount(),
+        minTeamSize(),
+        (long) (seatCount() * occupancy())
+    );
+  }
+}
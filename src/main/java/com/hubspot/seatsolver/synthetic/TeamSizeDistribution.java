@@ -0,0 +1,12 @@
+package com.hubspot.seatsolver.synthetic;
+
+public enum TeamSizeDistribution {
+  /**
+   * Every size between the min and max team size is equally likely
+   */
+  UNIFORM,
+  /**
+   * A few large teams and a long tail of small ones, the i-th largest team weighted 1 / i^exponent
+   */
+  ZIPF
+}
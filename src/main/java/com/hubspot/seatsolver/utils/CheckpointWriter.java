@@ -0,0 +1,130 @@
+package com.hubspot.seatsolver.utils;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Consumer;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import com.hubspot.seatsolver.model.SeatCore;
+
+import io.jenetics.EnumGene;
+import io.jenetics.Phenotype;
+import io.jenetics.engine.EvolutionResult;
+
+/**
+ * Writes checkpoints on a single background thread so the evolution thread only hands over a result.
+ * Results are immutable, so the handed over result is the snapshot. At most one checkpoint waits
+ * behind the one being written; when the disk falls behind a newer checkpoint replaces the waiting one.
+ * A checkpoint whose best phenotype is the one last written is skipped.
+ */
+public class CheckpointWriter implements AutoCloseable {
+  private static final Logger LOG = LoggerFactory.getLogger(CheckpointWriter.class);
+
+  private static final long CLOSE_TIMEOUT_SECONDS = 30;
+
+  private final Consumer<EvolutionResult<EnumGene<SeatCore>, Double>> writer;
+  private final ExecutorService executor = Executors.newSingleThreadExecutor(
+      new ThreadFactoryBuilder().setNameFormat("checkpoint-writer-%d").setDaemon(true).build()
+  );
+  private final AtomicReference<EvolutionResult<EnumGene<SeatCore>, Double>> pending = new AtomicReference<>();
+  private final AtomicReference<EvolutionResult<EnumGene<SeatCore>, Double>> latest = new AtomicReference<>();
+  private final AtomicBoolean scheduled = new AtomicBoolean();
+  private final AtomicBoolean closed = new AtomicBoolean();
+  private final AtomicLong coalesced = new AtomicLong();
+  private final AtomicLong skipped = new AtomicLong();
+
+  // guarded by write
+  private Phenotype<EnumGene<SeatCore>, Double> lastWritten;
+
+  public CheckpointWriter(Consumer<EvolutionResult<EnumGene<SeatCore>, Double>> writer) {
+    this.writer = writer;
+  }
+
+  /**
+   * Remembers the newest result, which is checkpointed on close if it wasn't already
+   */
+  public void update(EvolutionResult<EnumGene<SeatCore>, Double> result) {
+    latest.set(result);
+  }
+
+  /**
+   * Queues a checkpoint of the result, replacing any checkpoint still waiting to be written
+   */
+  public void checkpoint(EvolutionResult<EnumGene<SeatCore>, Double> result) {
+    update(result);
+    if (closed.get()) {
+      return;
+    }
+
+    if (pending.getAndSet(result) != null) {
+      LOG.debug("Checkpoint writer behind, dropped a pending checkpoint for generation {}", result.getTotalGenerations());
+      coalesced.incrementAndGet();
+    }
+    if (scheduled.compareAndSet(false, true)) {
+      try {
+        executor.execute(this::drain);
+      } catch (RejectedExecutionException e) {
+        // closed concurrently, close writes the latest result itself
+      }
+    }
+  }
+
+  private void drain() {
+    scheduled.set(false);
+    EvolutionResult<EnumGene<SeatCore>, Double> result = pending.getAndSet(null);
+    if (result != null) {
+      write(result);
+    }
+  }
+
+  private synchronized void write(EvolutionResult<EnumGene<SeatCore>, Double> result) {
+    Phenotype<EnumGene<SeatCore>, Double> best = result.getBestPhenotype();
+    // survivors keep their phenotype, and migrants keep their genotype, so identity is enough here
+    if (lastWritten != null && (best == lastWritten || best.getGenotype() == lastWritten.getGenotype())) {
+      LOG.debug("Best phenotype unchanged, skipping checkpoint for generation {}", result.getTotalGenerations());
+      skipped.incrementAndGet();
+      return;
+    }
+
+    try {
+      writer.accept(result);
+      lastWritten = best;
+    } catch (RuntimeException e) {
+      LOG.warn("Could not write checkpoint for generation {}", result.getTotalGenerations(), e);
+    }
+  }
+
+  /**
+   * Finishes the queued checkpoints, then checkpoints the newest result if it is ahead of them.
+   * Safe to call more than once, later calls do nothing.
+   */
+  @Override
+  public void close() {
+    if (!closed.compareAndSet(false, true)) {
+      return;
+    }
+
+    executor.shutdown();
+    try {
+      if (!executor.awaitTermination(CLOSE_TIMEOUT_SECONDS, TimeUnit.SECONDS)) {
+        LOG.warn("Checkpoint writer didn't finish within {}s", CLOSE_TIMEOUT_SECONDS);
+      }
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+
+    EvolutionResult<EnumGene<SeatCore>, Double> result = latest.get();
+    if (result != null) {
+      write(result);
+    }
+    LOG.info("Checkpoint writer closed, {} checkpoints coalesced and {} skipped unchanged", coalesced.get(), skipped.get());
+  }
+}
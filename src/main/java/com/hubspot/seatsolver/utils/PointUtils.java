@@ -8,10 +8,9 @@ public final class PointUtils {
 
   public static double distance(PointBase a, PointBase b) {
     // Good ol Pythagorean Theorem
-    double xDist = Math.pow(Math.abs(a.x() - b.x()), 2);
-    double yDist = Math.pow(Math.abs(a.y() - b.y()), 2);
+    double xDist = a.x() - b.x();
+    double yDist = a.y() - b.y();
 
-    double dist = Math.sqrt(xDist + yDist);
-    return dist;
+    return Math.sqrt(xDist * xDist + yDist * yDist);
   }
 }
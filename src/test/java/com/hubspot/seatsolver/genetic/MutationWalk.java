@@ -0,0 +1,102 @@
+package com.hubspot.seatsolver.genetic;
+
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.List;
+import java.util.Random;
+import java.util.function.Consumer;
+
+import com.google.inject.Injector;
+import com.hubspot.seatsolver.genetic.alter.EmptySeatSwapMutator;
+import com.hubspot.seatsolver.genetic.alter.MultiTeamSwapMutator;
+import com.hubspot.seatsolver.genetic.alter.NearSeatMutator;
+import com.hubspot.seatsolver.genetic.alter.TeamSwapMutator;
+import com.hubspot.seatsolver.model.SeatCore;
+
+import io.jenetics.Alterer;
+import io.jenetics.Chromosome;
+import io.jenetics.EnumGene;
+import io.jenetics.Genotype;
+import io.jenetics.Phenotype;
+import io.jenetics.util.ISeq;
+import io.jenetics.util.RandomRegistry;
+
+/**
+ * Seeded random walks of mutator steps over a synthetic floor, each genotype derived from the one
+ * before, for checking state patched from a parent against the same state built from scratch
+ */
+final class MutationWalk {
+  private static final int SEATS = 300;
+  private static final int TEAMS = 30;
+  private static final int MAX_GENOTYPE_TRIES = 100;
+
+  private MutationWalk() {
+  }
+
+  /**
+   * Visits the starting genotype and then every child that changed and still has disjoint seats, each
+   * before it is mutated further
+   */
+  static void walk(long seed, int steps, Consumer<Genotype<EnumGene<SeatCore>>> visitor) {
+    Injector injector = TestFloors.injector(seed, SEATS, TEAMS);
+    GreedySeatGenotypeFactory factory = injector.getInstance(GreedySeatGenotypeFactory.class);
+
+    List<Alterer<EnumGene<SeatCore>, Double>> mutators = Arrays.asList(
+        new TeamSwapMutator(1),
+        new MultiTeamSwapMutator(1),
+        new NearSeatMutator(1, 10),
+        new EmptySeatSwapMutator(1)
+    );
+
+    Random random = new Random(seed);
+    RandomRegistry.setRandom(random);
+    try {
+      Genotype<EnumGene<SeatCore>> genotype = start(factory);
+      visitor.accept(genotype);
+      for (int step = 1; step <= steps; step++) {
+        Alterer<EnumGene<SeatCore>, Double> mutator = mutators.get(random.nextInt(mutators.size()));
+        Phenotype<EnumGene<SeatCore>, Double> phenotype = Phenotype.of(genotype, step, ignored -> 0.0);
+        Genotype<EnumGene<SeatCore>> child = mutator.alter(ISeq.of(phenotype), step)
+            .getPopulation()
+            .get(0)
+            .getGenotype();
+        if (child != genotype && hasDisjointSeats(child)) {
+          visitor.accept(child);
+          genotype = child;
+        }
+      }
+    } finally {
+      RandomRegistry.reset();
+    }
+  }
+
+  /**
+   * The same chromosomes in a new genotype without lineage, so per genotype state is built from scratch
+   */
+  static Genotype<EnumGene<SeatCore>> copy(Genotype<EnumGene<SeatCore>> genotype) {
+    return Genotype.of(genotype.toSeq());
+  }
+
+  private static Genotype<EnumGene<SeatCore>> start(GreedySeatGenotypeFactory factory) {
+    for (int i = 0; i < MAX_GENOTYPE_TRIES; i++) {
+      Genotype<EnumGene<SeatCore>> genotype = factory.newInstance();
+      if (hasDisjointSeats(genotype)) {
+        return genotype;
+      }
+    }
+    throw new IllegalStateException("Could not build a genotype with disjoint seats");
+  }
+
+  private static boolean hasDisjointSeats(Genotype<EnumGene<SeatCore>> genotype) {
+    BitSet used = new BitSet();
+    for (Chromosome<EnumGene<SeatCore>> chromosome : genotype) {
+      for (EnumGene<SeatCore> gene : chromosome) {
+        if (used.get(gene.getAlleleIndex())) {
+          return false;
+        }
+        used.set(gene.getAlleleIndex());
+      }
+    }
+    return true;
+  }
+}
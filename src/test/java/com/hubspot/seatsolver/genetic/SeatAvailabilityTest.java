@@ -0,0 +1,75 @@
+package com.hubspot.seatsolver.genetic;
+
+import static org.junit.Assert.assertEquals;
+
+import java.util.BitSet;
+import java.util.Random;
+
+import org.junit.Test;
+
+public class SeatAvailabilityTest {
+
+  @Test
+  public void itSelectsByRankLikeWalkingTheBits() {
+    Random random = new Random(42);
+    for (int trial = 0; trial < 300; trial++) {
+      // sizes around and between word boundaries
+      int size = 1 + random.nextInt(700);
+      double density = random.nextDouble();
+      BitSet expected = new BitSet(size);
+      for (int seat = 0; seat < size; seat++) {
+        if (random.nextDouble() < density) {
+          expected.set(seat);
+        }
+      }
+      SeatAvailability availability = SeatAvailability.of(size, (BitSet) expected.clone());
+      assertSelects(expected, availability);
+
+      while (!expected.isEmpty()) {
+        if (random.nextInt(4) == 0) {
+          BitSet seats = new BitSet(size);
+          for (int i = 0; i < 5; i++) {
+            seats.set(random.nextInt(size));
+          }
+          availability.removeAll(seats);
+          expected.andNot(seats);
+        } else {
+          // mostly free seats so the floor fills up, but taken ones too, which must change nothing
+          int seat = random.nextInt(size);
+          if (random.nextInt(3) > 0) {
+            seat = expected.nextSetBit(seat) >= 0 ? expected.nextSetBit(seat) : expected.nextSetBit(0);
+          }
+          availability.remove(seat);
+          expected.clear(seat);
+        }
+        assertSelects(expected, availability);
+      }
+    }
+  }
+
+  @Test
+  public void itSelectsFromAFullFloor() {
+    for (int size = 1; size <= 200; size++) {
+      BitSet expected = new BitSet(size);
+      expected.set(0, size);
+      assertSelects(expected, SeatAvailability.all(size));
+    }
+  }
+
+  @Test(expected = IndexOutOfBoundsException.class)
+  public void itRejectsRanksPastTheCount() {
+    SeatAvailability availability = SeatAvailability.all(10);
+    availability.remove(3);
+    availability.select(9);
+  }
+
+  private static void assertSelects(BitSet expected, SeatAvailability availability) {
+    assertEquals(expected.cardinality(), availability.count());
+    assertEquals(expected, availability.bits());
+    int rank = 0;
+    for (int seat = expected.nextSetBit(0); seat >= 0; seat = expected.nextSetBit(seat + 1)) {
+      assertEquals("Seat of rank " + rank, seat, availability.select(rank));
+      rank++;
+    }
+  }
+}
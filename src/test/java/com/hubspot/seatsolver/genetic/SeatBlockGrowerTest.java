@@ -0,0 +1,92 @@
+package com.hubspot.seatsolver.genetic;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.IdentityHashMap;
+import java.util.Map;
+import java.util.OptionalInt;
+import java.util.Random;
+
+import org.junit.Test;
+
+import com.google.inject.Injector;
+import com.google.inject.Key;
+import com.google.inject.TypeLiteral;
+import com.hubspot.seatsolver.grid.SeatGrid;
+import com.hubspot.seatsolver.model.SeatCore;
+
+import io.jenetics.util.ISeq;
+
+public class SeatBlockGrowerTest {
+  private static final int SEATS = 300;
+  private static final int TRIALS = 400;
+
+  @Test
+  public void itTakesTheSeatsSelectAdjacentWould() {
+    for (long seed = 1; seed <= 5; seed++) {
+      Injector injector = TestFloors.injector(seed, SEATS, 30);
+      SeatGrid grid = injector.getInstance(SeatGrid.class);
+      ISeq<SeatCore> seats = injector.getInstance(Key.get(new TypeLiteral<ISeq<SeatCore>>() {}));
+      Map<SeatCore, Integer> seatIndex = new IdentityHashMap<>();
+      for (int i = 0; i < seats.size(); i++) {
+        seatIndex.put(seats.get(i), i);
+      }
+
+      Random random = new Random(seed);
+      for (int trial = 0; trial < TRIALS; trial++) {
+        // sparse masks cut blocks short, dense ones let them grow to size
+        double density = 0.3 + 0.7 * random.nextDouble();
+        BitSet available = new BitSet(seats.size());
+        for (int seat = 0; seat < seats.size(); seat++) {
+          if (random.nextDouble() < density) {
+            available.set(seat);
+          }
+        }
+        int start = random.nextInt(seats.size());
+        available.set(start);
+        int size = 1 + random.nextInt(40);
+        int maxAdded = random.nextBoolean() ? size : random.nextInt(size);
+
+        int[] expected = selectAdjacentOrder(grid, seats, seatIndex, start, available, size, maxAdded);
+        String description = String.format("seed %d, trial %d, start %d, size %d", seed, trial, start, size);
+        assertArrayEquals(description, expected, SeatBlockGrower.order(grid, start, available, size, maxAdded));
+        // goes through the grid's block library when it covers the block
+        assertEquals(description, toBitSet(expected), SeatBlockGrower.grow(grid, start, available, size, maxAdded));
+      }
+    }
+  }
+
+  private static int[] selectAdjacentOrder(SeatGrid grid,
+                                           ISeq<SeatCore> seats,
+                                           Map<SeatCore, Integer> seatIndex,
+                                           int start,
+                                           BitSet available,
+                                           int size,
+                                           int maxAdded) {
+    int[] order = new int[size];
+    BitSet selected = new BitSet(seats.size());
+    selected.set(start);
+    order[0] = start;
+    int count = 1;
+    for (int added = 0; count < size && added < maxAdded; added++) {
+      OptionalInt next = TeamChromosome.selectAdjacent(seats, seatIndex, selected, available, grid);
+      if (!next.isPresent()) {
+        break;
+      }
+      selected.set(next.getAsInt());
+      order[count++] = next.getAsInt();
+    }
+    return Arrays.copyOf(order, count);
+  }
+
+  private static BitSet toBitSet(int[] seats) {
+    BitSet bits = new BitSet();
+    for (int seat : seats) {
+      bits.set(seat);
+    }
+    return bits;
+  }
+}
@@ -0,0 +1,37 @@
+package com.hubspot.seatsolver.genetic;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotEquals;
+
+import org.junit.Test;
+
+import com.hubspot.seatsolver.model.SeatCore;
+
+import io.jenetics.EnumGene;
+import io.jenetics.Genotype;
+
+public class SeatOwnerIndexTest {
+  private static final int STEPS = 500;
+
+  @Test
+  public void itDerivesTheSameOwnersAsBuilding() {
+    for (long seed = 1; seed <= 5; seed++) {
+      int[] visited = new int[1];
+      MutationWalk.walk(seed, STEPS, genotype -> {
+        assertSameOwners(genotype, SeatOwnerIndex.of(genotype), SeatOwnerIndex.of(MutationWalk.copy(genotype)));
+        visited[0]++;
+      });
+      assertNotEquals(1, visited[0]);
+    }
+  }
+
+  private static void assertSameOwners(Genotype<EnumGene<SeatCore>> genotype,
+                                       SeatOwnerIndex derived,
+                                       SeatOwnerIndex built) {
+    assertEquals(built.emptyChromosomeIndex(), derived.emptyChromosomeIndex());
+    int seatCount = genotype.get(0).getGene(0).getValidAlleles().length();
+    for (int seat = 0; seat < seatCount; seat++) {
+      assertEquals("Owner of seat " + seat, built.ownerOf(seat), derived.ownerOf(seat));
+    }
+  }
+}
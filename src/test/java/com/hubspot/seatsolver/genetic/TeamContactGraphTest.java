@@ -0,0 +1,37 @@
+package com.hubspot.seatsolver.genetic;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertNotEquals;
+
+import org.junit.Test;
+
+import com.hubspot.seatsolver.model.SeatCore;
+
+import io.jenetics.EnumGene;
+import io.jenetics.Genotype;
+
+public class TeamContactGraphTest {
+  private static final int STEPS = 500;
+
+  @Test
+  public void itDerivesTheSameGraphAsBuilding() {
+    for (long seed = 1; seed <= 5; seed++) {
+      int[] visited = new int[1];
+      MutationWalk.walk(seed, STEPS, genotype -> {
+        assertSameGraph(genotype, TeamContactGraph.of(genotype), TeamContactGraph.of(MutationWalk.copy(genotype)));
+        visited[0]++;
+      });
+      // the walk has to go somewhere for the derived path to be exercised
+      assertNotEquals(1, visited[0]);
+    }
+  }
+
+  private static void assertSameGraph(Genotype<EnumGene<SeatCore>> genotype,
+                                      TeamContactGraph derived,
+                                      TeamContactGraph built) {
+    for (int i = 0; i < genotype.length(); i++) {
+      assertArrayEquals("Partners of chromosome " + i, built.partners(i), derived.partners(i));
+      assertArrayEquals("Contacts of chromosome " + i, built.contacts(i), derived.contacts(i));
+    }
+  }
+}
@@ -0,0 +1,33 @@
+package com.hubspot.seatsolver.genetic;
+
+import com.google.common.util.concurrent.MoreExecutors;
+import com.google.inject.Guice;
+import com.google.inject.Injector;
+import com.hubspot.seatsolver.SeatSolverModule;
+import com.hubspot.seatsolver.config.SeatSolverConfig;
+import com.hubspot.seatsolver.synthetic.SyntheticDataLoader;
+import com.hubspot.seatsolver.synthetic.SyntheticFloorParams;
+
+/**
+ * Solvers wired for seeded synthetic floors
+ */
+final class TestFloors {
+  private TestFloors() {
+  }
+
+  static Injector injector(long seed, int seats, int teams) {
+    SeatSolverConfig config = SeatSolverConfig.builder()
+        .dataLoader(
+            new SyntheticDataLoader(
+                SyntheticFloorParams.builder()
+                    .seatCount(seats)
+                    .teamCount(teams)
+                    .seed(seed)
+                    .build()
+            )
+        )
+        .executor(MoreExecutors.directExecutor())
+        .build();
+    return Guice.createInjector(new SeatSolverModule(config));
+  }
+}
@@ -0,0 +1,98 @@
+package com.hubspot.seatsolver.grid;
+
+import static org.junit.Assert.assertEquals;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.Test;
+
+import com.hubspot.seatsolver.model.Seat;
+import com.hubspot.seatsolver.model.SeatCore;
+
+public class SeatHullTest {
+  private static final double DELTA = 1e-9;
+
+  @Test
+  public void itMatchesBruteForceOnRandomSeats() {
+    Random random = new Random(42);
+    for (int trial = 0; trial < 2000; trial++) {
+      // a small coordinate range makes duplicates and collinear runs common
+      int range = 1 + random.nextInt(8);
+      int size = 1 + random.nextInt(40);
+      List<SeatCore> seats = new ArrayList<>(size);
+      for (int i = 0; i < size; i++) {
+        seats.add(seat(i, random.nextInt(range), random.nextInt(range)));
+      }
+      assertDiameter(seats);
+    }
+  }
+
+  @Test
+  public void itMatchesBruteForceOnCollinearSeats() {
+    Random random = new Random(7);
+    for (int trial = 0; trial < 500; trial++) {
+      int size = 1 + random.nextInt(20);
+      int dx = random.nextInt(5) - 2;
+      int dy = random.nextInt(5) - 2;
+      List<SeatCore> seats = new ArrayList<>(size);
+      for (int i = 0; i < size; i++) {
+        int step = random.nextInt(10);
+        seats.add(seat(i, 3 + step * dx, -1 + step * dy));
+      }
+      assertDiameter(seats);
+    }
+  }
+
+  @Test
+  public void itHandlesOneSeat() {
+    assertDiameter(seats(5, 5));
+  }
+
+  @Test
+  public void itHandlesTwoSeats() {
+    assertDiameter(seats(0, 0, 3, 4));
+    assertDiameter(seats(2, 2, 2, 2));
+  }
+
+  @Test
+  public void itHandlesDuplicateSeats() {
+    assertDiameter(seats(1, 1, 1, 1, 1, 1));
+    assertDiameter(seats(0, 0, 0, 0, 4, 0, 4, 0, 4, 3));
+  }
+
+  private static void assertDiameter(List<SeatCore> seats) {
+    SeatDistances distances = new SeatDistances(seats);
+    int[] indexes = new int[seats.size()];
+    for (int i = 0; i < indexes.length; i++) {
+      indexes[i] = i;
+    }
+
+    double expected = 0;
+    for (int i = 0; i < indexes.length; i++) {
+      for (int j = i + 1; j < indexes.length; j++) {
+        expected = Math.max(expected, distances.distance(indexes[i], indexes[j]));
+      }
+    }
+
+    int[] hull = SeatHull.of(distances, indexes);
+    assertEquals("Diameter of " + seats, expected, SeatHull.diameter(distances, indexes, hull), DELTA);
+  }
+
+  private static List<SeatCore> seats(double... coordinates) {
+    List<SeatCore> seats = new ArrayList<>(coordinates.length / 2);
+    for (int i = 0; i < coordinates.length; i += 2) {
+      seats.add(seat(i / 2, coordinates[i], coordinates[i + 1]));
+    }
+    return seats;
+  }
+
+  private static SeatCore seat(int id, double x, double y) {
+    return Seat.builder()
+        .id("seat-" + id)
+        .x(x)
+        .y(y)
+        .build();
+  }
+}